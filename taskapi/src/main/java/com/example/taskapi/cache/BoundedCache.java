@@ -0,0 +1,233 @@
+package com.example.taskapi.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small in-process cache with size and TTL eviction.
+ *
+ * Entries are spread over independently locked LRU segments so concurrent
+ * readers on different keys do not contend on a single monitor. Each segment
+ * evicts its least recently used entry once it is full; expired entries are
+ * dropped lazily when they are read.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedCache<K, V> {
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final String name;
+    private final long ttlMillis;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, DEFAULT_SEGMENTS);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BoundedCache(String name, int maxSize, Duration ttl, int concurrency) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + name);
+        }
+        this.name = Objects.requireNonNull(name);
+        this.ttlMillis = ttl.toMillis();
+
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, maxSize)));
+        int perSegment = Math.max(1, maxSize / segmentCount);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment, evictions);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Return the cached value, or null when absent or expired.
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.currentTimeMillis();
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return entry.value;
+                }
+                segment.map.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Return the cached value, computing and caching it when absent.
+     * The loader runs outside the segment lock; concurrent misses on the
+     * same key may both load, and the last writer wins.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Return the cached value, or create and cache it atomically when absent.
+     * The loader runs under the segment lock, so it must be cheap; concurrent
+     * callers on the same key always get the same instance.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.currentTimeMillis();
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                evictions.increment();
+            }
+            misses.increment();
+            V value = Objects.requireNonNull(loader.apply(key));
+            segment.map.put(key, new Entry<>(value, expiresAt(now, Long.MAX_VALUE)));
+            return value;
+        }
+    }
+
+    /**
+     * Push back the expiry of an entry to notAfterMillis, capped by the TTL
+     * from now. Never shortens it, and only applies while the key still maps
+     * to the given instance; a replaced entry is left alone.
+     */
+    public void extendExpiry(K key, V value, long notAfterMillis) {
+        long expiresAt = expiresAt(System.currentTimeMillis(), notAfterMillis);
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null && entry.value == value && entry.expiresAt < expiresAt) {
+                segment.map.put(key, new Entry<>(value, expiresAt));
+            }
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    /**
+     * Cache a value whose lifetime is capped at the given wall-clock instant,
+     * for values such as tokens that carry their own expiry.
+     */
+    public void put(K key, V value, long notAfterMillis) {
+        long now = System.currentTimeMillis();
+        long expiresAt = expiresAt(now, notAfterMillis);
+        if (expiresAt <= now) {
+            return;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.map.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.map.remove(key);
+        }
+    }
+
+    /**
+     * Drop every entry whose value matches. This walks the whole cache and is
+     * meant for rare events such as an entity changing its natural key.
+     */
+    public void invalidateIf(Predicate<? super V> predicate) {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<V>> it = segment.map.values().iterator();
+                while (it.hasNext()) {
+                    if (predicate.test(it.next().value)) {
+                        it.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(name, size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private long expiresAt(long now, long notAfterMillis) {
+        return Math.min(notAfterMillis, ttlMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttlMillis);
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private static final class Segment<K, V> {
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        Segment(int capacity, LongAdder evictions) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.taskapi.cache;
+
+/**
+ * Point-in-time counters for a {@link BoundedCache}.
+ */
+public record CacheStats(String name, int size, long hits, long misses, long evictions) {
+
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[size=%d, hits=%d, misses=%d, evictions=%d, hitRatio=%.3f]",
+                name, size, hits, misses, evictions, hitRatio());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.taskapi.cache;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.entity.user.AppUser;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hit ratios of the Hibernate second-level cache regions
+ *
+ * Reads Hibernate's statistics (hibernate.generate_statistics) and reports
+ * them as {@link CacheStats}, like the in-process caches, and logs them
+ * periodically. Hibernate does not count evictions per region, so that
+ * field is always 0.
+ */
+@Component
+@Slf4j
+public class SecondLevelCacheStats {
+
+    private static final List<String> REGIONS = List.of(Task.CACHE_REGION, AppUser.CACHE_REGION);
+
+    private final SessionFactory sessionFactory;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public List<CacheStats> stats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheStats> stats = new ArrayList<>(REGIONS.size());
+        for (String region : REGIONS) {
+            try {
+                CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+                stats.add(new CacheStats(region,
+                        (int) Math.max(0, regionStats.getElementCountInMemory()),
+                        regionStats.getHitCount(), regionStats.getMissCount(), 0));
+            } catch (IllegalArgumentException e) {
+                // Region not built: second-level caching is switched off
+            }
+        }
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.stats-log-interval-ms:300000}")
+    public void logStats() {
+        if (sessionFactory.getStatistics().isStatisticsEnabled()) {
+            stats().forEach(s -> log.info("Second-level cache {}", s));
+        }
+    }
+}
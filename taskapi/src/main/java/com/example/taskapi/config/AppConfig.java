@@ -1,17 +1,13 @@
 package com.example.taskapi.config;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 /**
  * Application configuration class.
  *
  */
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
 }
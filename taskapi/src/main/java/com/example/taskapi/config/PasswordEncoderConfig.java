@@ -1,20 +1,71 @@
 package com.example.taskapi.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
+@Slf4j
 public class PasswordEncoderConfig {
+
+    private static final String CALIBRATION_PASSWORD = "calibration-Password-1";
+
+    @Value("${app.security.bcrypt.strength:10}")
+    private int strength;
+
+    @Value("${app.security.bcrypt.calibrate:false}")
+    private boolean calibrate;
+
+    @Value("${app.security.bcrypt.target-ms:250}")
+    private long targetMs;
+
+    @Value("${app.security.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${app.security.bcrypt.max-strength:16}")
+    private int maxStrength;
+
     /**
      * Creates a PasswordEncoder bean using BCryptPasswordEncoder.
      *
+     * The work factor is either configured directly or, in calibration mode,
+     * measured at startup against the target verify latency of this node.
+     * The cost is stored inside every BCrypt hash, so older hashes keep
+     * verifying and are upgraded on the next successful login.
+     *
      * @return a PasswordEncoder instance
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
+        int cost = calibrate ? calibrateStrength() : strength;
+        log.info("Using BCrypt work factor {}", cost);
+        return new BCryptPasswordEncoder(cost);
+    }
+
+    /**
+     * Pick the largest work factor whose hash time stays within the target
+     */
+    private int calibrateStrength() {
+        // Warm up the JIT so the first measurement is not inflated
+        new BCryptPasswordEncoder(4).encode(CALIBRATION_PASSWORD);
+
+        int chosen = minStrength;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            log.debug("BCrypt cost {} took {} ms", cost, elapsedMs);
 
-        return new BCryptPasswordEncoder();
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = cost;
+        }
+        log.info("Calibrated BCrypt work factor {} for a {} ms target", chosen, targetMs);
+        return chosen;
     }
 }
@@ -1,14 +1,22 @@
 package com.example.taskapi.controller;
 
 
+import com.example.taskapi.dto.AuthTokensDto;
 import com.example.taskapi.dto.UserDto;
 import com.example.taskapi.request.LoginRequest;
+import com.example.taskapi.request.PasswordChangeRequest;
+import com.example.taskapi.request.RefreshTokenRequest;
 import com.example.taskapi.request.RegistrationRequest;
 import com.example.taskapi.response.ApiResponse;
+import com.example.taskapi.security.AuthRateLimiter;
+import com.example.taskapi.security.ClientIpResolver;
+import com.example.taskapi.security.CustomUserDetails;
 import com.example.taskapi.service.user.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,20 +27,45 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final UserService userService;
+    private final AuthRateLimiter authRateLimiter;
 
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, AuthRateLimiter authRateLimiter) {
         this.userService = userService;
+        this.authRateLimiter = authRateLimiter;
     }
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse> register(@Valid @RequestBody RegistrationRequest request) {
+    public ResponseEntity<ApiResponse> register(@Valid @RequestBody RegistrationRequest request,
+                                                HttpServletRequest httpRequest) {
+        authRateLimiter.checkRegister(ClientIpResolver.resolve(httpRequest));
         UserDto userDto = userService.registerUser(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse("User Registered Successfully",userDto));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse> login(@Valid @RequestBody LoginRequest request) {
-        String token = userService.loginUser(request);
-        return ResponseEntity.ok(new ApiResponse("Bearer",token));
+    public ResponseEntity<ApiResponse> login(@Valid @RequestBody LoginRequest request,
+                                             HttpServletRequest httpRequest) {
+        authRateLimiter.checkLogin(ClientIpResolver.resolve(httpRequest), request.email());
+        AuthTokensDto tokens = userService.loginUser(request);
+        return ResponseEntity.ok(new ApiResponse("Bearer",tokens));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthTokensDto tokens = userService.refreshTokens(request.refreshToken());
+        return ResponseEntity.ok(new ApiResponse("Bearer",tokens));
+    }
+
+    @PostMapping("/password")
+    public ResponseEntity<ApiResponse> changePassword(@Valid @RequestBody PasswordChangeRequest request,
+                                                      @AuthenticationPrincipal CustomUserDetails user) {
+        userService.changePassword(user.getId(), request);
+        return ResponseEntity.ok(new ApiResponse("Password Changed Successfully, please log in again", null));
+    }
+
+    @PostMapping("/deactivate")
+    public ResponseEntity<ApiResponse> deactivate(@AuthenticationPrincipal CustomUserDetails user) {
+        userService.deactivateUser(user.getId());
+        return ResponseEntity.ok(new ApiResponse("Account Deactivated Successfully", null));
     }
 }
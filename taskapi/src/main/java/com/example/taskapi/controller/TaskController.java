@@ -1,19 +1,38 @@
 package com.example.taskapi.controller;
 
+import com.example.taskapi.dto.CursorPageDto;
+import com.example.taskapi.dto.TaskBatchResultDto;
 import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.dto.TaskStatusUpdateResultDto;
+import com.example.taskapi.dto.TaskSummaryDto;
+import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.exception.InvalidInputException;
+import com.example.taskapi.exception.TaskConflictException;
 import com.example.taskapi.request.TaskCreateRequest;
+import com.example.taskapi.request.TaskFilter;
+import com.example.taskapi.request.TaskStatusUpdateRequest;
 import com.example.taskapi.request.TaskUpdateRequest;
 import com.example.taskapi.response.ApiResponse;
+import com.example.taskapi.service.idempotency.IdempotencyService;
 import com.example.taskapi.service.task.TaskService;
 import com.example.taskapi.security.CustomUserDetails;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/tasks")
@@ -21,81 +40,303 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class TaskController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Create a new task
      * POST /tasks
+     * With an Idempotency-Key header a retried request gets the first
+     * response back (Idempotent-Replayed: true) instead of a second task
      */
     @PostMapping
     public ResponseEntity<ApiResponse> createTask(
-            @Valid @RequestBody TaskCreateRequest request) {
+            @Valid @RequestBody TaskCreateRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
-        log.info("Creating task for user");
-
-        TaskDto createdTask = taskService.createTask(request);
+        if (idempotencyKey != null) {
+            return idempotencyService.execute(idempotencyKey, "POST /tasks", request, () -> respondCreated(request));
+        }
+        return respondCreated(request);
+    }
 
-        log.info("Task created successfully: id={}, title={}",
-                createdTask.getId(), createdTask.getTitle() );
+    /**
+     * Create many tasks in one transaction
+     * POST /tasks/batch with a JSON array of tasks
+     * 201 when every item was created, 207 with per-item errors otherwise
+     * Accepts an Idempotency-Key like POST /tasks
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse> createTasks(
+            @RequestBody List<TaskCreateRequest> requests,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
-        return new ResponseEntity<>(new ApiResponse("Task Created Successfully",createdTask), HttpStatus.CREATED);
+        if (idempotencyKey != null) {
+            return idempotencyService.execute(idempotencyKey, "POST /tasks/batch", requests,
+                    () -> respondBatchCreated(requests));
+        }
+        return respondBatchCreated(requests);
     }
 
     /**
      * Update an existing task
      * PUT /tasks/{taskId}
+     * With If-Match (the task's ETag) the update only applies to that
+     * version, otherwise to the version read by this request; 409 when the
+     * task changed in between. The response carries the new ETag.
      */
     @PutMapping("/{taskId}")
     public ResponseEntity<ApiResponse> updateTask(
             @PathVariable Long taskId,
-            @Valid @RequestBody TaskUpdateRequest request) {
+            @Valid @RequestBody TaskUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         log.info("Updating task {} for user", taskId);
 
-        TaskDto updatedTask = taskService.updateTask(request, taskId);
+        Long expectedVersion = versionFromEtag(taskId, ifMatch);
+        TaskDto updatedTask = expectedVersion == null
+                ? taskService.updateTask(request, taskId)
+                : taskService.updateTask(request, taskId, expectedVersion);
 
         log.info("Task updated successfully: id={}, title={}",
                 updatedTask.getId(), updatedTask.getTitle());
 
-        return ResponseEntity.ok(new ApiResponse("Task Updated Successfully",updatedTask));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        String etag = taskEtag(updatedTask.getId(), updatedTask.getVersion());
+        return (etag == null ? response : response.eTag(etag))
+                .body(new ApiResponse("Task Updated Successfully",updatedTask));
+    }
+
+    /**
+     * Move many tasks to one status
+     * PATCH /tasks/status with {"status": "DONE", "ids": [1, 2, 3]}
+     * or {"status": "DONE", "filter": {"status": "OPEN", "createdBefore": "2025-01-01T00:00:00"}}
+     * Returns the ids that changed; truncated=true means the filter matched
+     * more tasks than one request may change
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<ApiResponse> updateTaskStatuses(
+            @Valid @RequestBody TaskStatusUpdateRequest request) {
+
+        log.info("Bulk status change to {} for user", request.status());
+
+        TaskStatusUpdateResultDto result = taskService.updateTaskStatuses(request);
+
+        log.info("Bulk status change done: updated={}, truncated={}", result.updated(), result.truncated());
+
+        return ResponseEntity.ok(new ApiResponse("Tasks Updated Successfully",result));
     }
 
     /**
      * Get all tasks for current user with pagination and sorting
      * GET /tasks?page=0&size=10&sortBy=createdAt&sortDir=desc
+     * GET /tasks?cursor=&size=10 (keyset pagination, pass back nextCursor/prevCursor)
+     * GET /tasks?mode=slice&page=0&size=10 (hasNext only, no total count)
+     * Optional filters, see TaskFilter for the supported combinations:
+     * GET /tasks?status=OPEN&createdAfter=2025-01-01T00:00:00&createdBefore=2025-02-01T00:00:00
+     * GET /tasks?archived=true (deleted tasks not yet moved to the archive table)
+     * GET /tasks?updatedSince=2025-01-01T00:00:00
+     * Responses carry an ETag from the user's change stamp; If-None-Match
+     * with the current one is answered 304 before any task is read.
      */
     @GetMapping
     public ResponseEntity<ApiResponse> getAllTasks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "page") String mode,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Boolean archived,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            WebRequest webRequest) {
+
+        // Stamp first: a change racing with the read below can only make the ETag older, never newer
+        String etag = listEtag(taskService.getTaskListVersion());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        TaskFilter filter = new TaskFilter(status, archived, createdAfter, createdBefore, updatedSince);
+
+        if (cursor != null) {
+            log.debug("Getting tasks by cursor, size: {}, sortBy: {}, sortDir: {}, filter: {}", size, sortBy, sortDir, filter);
+
+            CursorPageDto<TaskDto> tasks = filter.isEmpty()
+                    ? taskService.getTasksByCursor(cursor, size, sortBy, sortDir)
+                    : taskService.getTasksByCursor(cursor, size, sortBy, sortDir, filter);
+            return withEtag(etag).body(new ApiResponse("Fetched Successfully",tasks));
+        }
 
-        log.debug("Getting tasks page: {}, size: {}, sortBy: {}, sortDir: {}",
-                page, size, sortBy, sortDir);
+        if ("slice".equalsIgnoreCase(mode)) {
+            log.debug("Getting tasks slice: {}, size: {}, sortBy: {}, sortDir: {}, filter: {}", page, size, sortBy, sortDir, filter);
 
-        Page<TaskDto> tasks = taskService.getAllTasksForUser(page, size, sortBy, sortDir);
+            Slice<TaskDto> tasks = filter.isEmpty()
+                    ? taskService.getTaskSliceForUser(page, size, sortBy, sortDir)
+                    : taskService.getTaskSliceForUser(page, size, sortBy, sortDir, filter);
+            return withEtag(etag).body(new ApiResponse("Fetched Successfully",tasks));
+        }
+
+        log.debug("Getting tasks page: {}, size: {}, sortBy: {}, sortDir: {}, filter: {}",
+                page, size, sortBy, sortDir, filter);
+
+        Page<TaskDto> tasks = filter.isEmpty()
+                ? taskService.getAllTasksForUser(page, size, sortBy, sortDir)
+                : taskService.getAllTasksForUser(page, size, sortBy, sortDir, filter);
 
         log.debug("Retrieved {} tasks for user",
                 tasks.getTotalElements());
 
+        return withEtag(etag).body(new ApiResponse("Fetched Successfully",tasks));
+    }
+
+    /**
+     * Get a single task of the current user
+     * GET /tasks/{taskId}
+     * The ETag is built from id and version; with If-None-Match the version
+     * is checked first (usually from the second-level cache) and a match is
+     * answered 304.
+     */
+    @GetMapping("/{taskId}")
+    public ResponseEntity<ApiResponse> getTask(@PathVariable Long taskId, WebRequest webRequest) {
+        log.debug("Getting task {}", taskId);
+
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = taskEtag(taskId, taskService.getTaskVersion(taskId));
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
+        TaskDto task = taskService.getTask(taskId);
+        return withEtag(taskEtag(task.getId(), task.getVersion()))
+                .body(new ApiResponse("Fetched Successfully",task));
+    }
+
+    /**
+     * Full-text search over the current user's task titles and descriptions
+     * GET /tasks/search?q=release notes&limit=20 (words match as prefixes, best first)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> searchTasks(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Searching tasks, limit: {}", limit);
+
+        List<TaskDto> tasks = taskService.searchTasks(q, limit);
         return ResponseEntity.ok(new ApiResponse("Fetched Successfully",tasks));
     }
 
+    /**
+     * Total number of tasks of the current user
+     * GET /tasks/count
+     */
+    @GetMapping("/count")
+    public ResponseEntity<ApiResponse> countTasks() {
+        long total = taskService.countTasksForUser();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate())
+                .body(new ApiResponse("Fetched Successfully",total));
+    }
+
+    /**
+     * Open, done, archived and total task counts of the current user
+     * GET /tasks/summary
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse> getTaskSummary() {
+        TaskSummaryDto summary = taskService.getTaskSummary();
+        return ResponseEntity.ok(new ApiResponse("Fetched Successfully",summary));
+    }
+
     /**
      * Delete a task
      * DELETE tasks/{taskId}
+     * Archives the task (soft delete); it is moved to tasks_archive later
+     * Honors If-Match like PUT: 409 when the task changed since that version
      */
     @DeleteMapping("/{taskId}")
     public ResponseEntity<ApiResponse> deleteTask(
-            @PathVariable Long taskId) {
+            @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         log.info("Deleting task {} for user", taskId);
 
-        taskService.deleteTask(taskId);
+        Long expectedVersion = versionFromEtag(taskId, ifMatch);
+        if (expectedVersion == null) {
+            taskService.deleteTask(taskId);
+        } else {
+            taskService.deleteTask(taskId, expectedVersion);
+        }
 
         log.info("Task {} deleted successfully", taskId);
 
         return ResponseEntity.ok(new ApiResponse("Task Deleted Successfully",null));
     }
+
+    // ------------------- Helpers -------------------
+
+    private ResponseEntity<ApiResponse> respondCreated(TaskCreateRequest request) {
+        log.info("Creating task for user");
+
+        TaskDto createdTask = taskService.createTask(request);
+
+        log.info("Task created successfully: id={}, title={}",
+                createdTask.getId(), createdTask.getTitle() );
+
+        return new ResponseEntity<>(new ApiResponse("Task Created Successfully",createdTask), HttpStatus.CREATED);
+    }
+
+    private ResponseEntity<ApiResponse> respondBatchCreated(List<TaskCreateRequest> requests) {
+        log.info("Creating batch of {} tasks for user", requests.size());
+
+        TaskBatchResultDto result = taskService.createTasks(requests);
+
+        log.info("Batch done: created={}, rejected={}", result.created(), result.rejected());
+
+        HttpStatus status = result.rejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(new ApiResponse("Batch Processed",result), status);
+    }
+
+    private static String taskEtag(Long taskId, Long version) {
+        return version == null ? null : "\"" + taskId + "-" + version + "\"";
+    }
+
+    /**
+     * Version from an If-Match value written by taskEtag; null for no header or "*"
+     */
+    private static Long versionFromEtag(Long taskId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        String prefix = taskId + "-";
+        if (!value.startsWith(prefix)) {
+            // An ETag of another task can never match this one
+            throw new TaskConflictException();
+        }
+        try {
+            return Long.parseLong(value.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException("Malformed If-Match header");
+        }
+    }
+
+    private static String listEtag(String listVersion) {
+        return listVersion == null ? null : "\"" + listVersion + "\"";
+    }
+
+    private static ResponseEntity.BodyBuilder withEtag(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        return etag == null ? builder : builder.eTag(etag);
+    }
 }
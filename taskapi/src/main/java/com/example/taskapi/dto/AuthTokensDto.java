@@ -0,0 +1,16 @@
+package com.example.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthTokensDto implements Serializable {
+    private String accessToken;
+    private String refreshToken;
+    private long expiresIn; // access token lifetime in seconds
+}
@@ -0,0 +1,22 @@
+package com.example.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ * nextCursor / prevCursor are null when there is nothing further that way
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> implements Serializable {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private String prevCursor;
+}
@@ -0,0 +1,9 @@
+package com.example.taskapi.dto;
+
+import com.example.taskapi.entity.appenum.TaskStatus;
+
+/**
+ * A task picked by the archive job, with what its counters need
+ */
+public record TaskArchiveRow(Long id, Long userId, TaskStatus status, Boolean archived) {
+}
@@ -0,0 +1,18 @@
+package com.example.taskapi.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of one item of a batch create, by its position in the request
+ */
+public record TaskBatchItemDto(int index, boolean created, TaskDto task, List<String> errors) implements Serializable {
+
+    public static TaskBatchItemDto created(int index, TaskDto task) {
+        return new TaskBatchItemDto(index, true, task, List.of());
+    }
+
+    public static TaskBatchItemDto rejected(int index, List<String> errors) {
+        return new TaskBatchItemDto(index, false, null, errors);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskapi.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record TaskBatchResultDto(int created, int rejected, List<TaskBatchItemDto> items) implements Serializable {
+}
@@ -0,0 +1,9 @@
+package com.example.taskapi.dto;
+
+import com.example.taskapi.entity.appenum.TaskStatus;
+
+/**
+ * Number of tasks of a user with a given status and archived flag
+ */
+public record TaskCountRow(Long userId, TaskStatus status, Boolean archived, Long count) {
+}
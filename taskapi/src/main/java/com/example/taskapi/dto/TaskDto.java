@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 /**
  * DTO for Task entity
@@ -23,4 +24,6 @@ public class TaskDto implements Serializable {
     private String title;
     private String description;
     private TaskStatus status;
+    private LocalDateTime createdAt;
+    private Long version;
 }
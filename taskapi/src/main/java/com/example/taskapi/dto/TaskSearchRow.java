@@ -0,0 +1,7 @@
+package com.example.taskapi.dto;
+
+/**
+ * Projection of the searchable columns of a task, used to build the search index
+ */
+public record TaskSearchRow(Long id, Long userId, Long version, String title, String description) {
+}
@@ -0,0 +1,9 @@
+package com.example.taskapi.dto;
+
+import com.example.taskapi.entity.appenum.TaskStatus;
+
+/**
+ * Id, status and archived flag of a task, read before a bulk status change
+ */
+public record TaskStateRow(Long id, TaskStatus status, Boolean archived) {
+}
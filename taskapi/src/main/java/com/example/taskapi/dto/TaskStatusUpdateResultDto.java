@@ -0,0 +1,14 @@
+package com.example.taskapi.dto;
+
+import com.example.taskapi.entity.appenum.TaskStatus;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Result of a bulk status change; truncated means a filter matched more
+ * tasks than one request may change, and repeating the request continues
+ */
+public record TaskStatusUpdateResultDto(TaskStatus status, int updated, List<Long> ids, boolean truncated)
+        implements Serializable {
+}
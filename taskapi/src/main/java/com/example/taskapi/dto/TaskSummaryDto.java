@@ -0,0 +1,13 @@
+package com.example.taskapi.dto;
+
+import java.io.Serializable;
+
+/**
+ * Task counts of a user for dashboards; open and done exclude archived tasks
+ */
+public record TaskSummaryDto(long open, long done, long archived, long total) implements Serializable {
+
+    public static TaskSummaryDto of(long open, long done, long archived) {
+        return new TaskSummaryDto(open, done, archived, open + done + archived);
+    }
+}
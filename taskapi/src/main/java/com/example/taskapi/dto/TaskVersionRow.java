@@ -0,0 +1,7 @@
+package com.example.taskapi.dto;
+
+/**
+ * Id and version of a task, used to check a search index snapshot against the table
+ */
+public record TaskVersionRow(Long id, Long userId, Long version) {
+}
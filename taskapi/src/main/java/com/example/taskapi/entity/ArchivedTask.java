@@ -0,0 +1,56 @@
+package com.example.taskapi.entity;
+
+import com.example.taskapi.entity.appenum.TaskStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a task moved out of the tasks table
+ * - Written only by the archive job (INSERT ... SELECT from tasks), never updated
+ * - deleted tells tasks the user deleted apart from finished tasks moved for age
+ * - No foreign key to app_users and not cached: rows are rarely read
+ */
+@Entity
+@Immutable
+@Table(name = "tasks_archive",
+        indexes = @Index(name = "ix_task_archive_user", columnList = "user_id, archived_at"))
+@Getter
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TaskStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // no-args constructor for JPA
+    protected ArchivedTask() {}
+}
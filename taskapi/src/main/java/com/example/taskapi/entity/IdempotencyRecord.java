@@ -0,0 +1,71 @@
+package com.example.taskapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored response of a request sent with an Idempotency-Key header
+ * - key_hash is the SHA-256 of user id, endpoint and key, so keys of
+ *   different users or endpoints never collide and raw keys are not stored
+ * - The unique key_hash index serializes concurrent requests with the same key
+ * - request_hash detects a key reused for a different request body
+ * - Rows are replayed until expires_at and then purged by a scheduled job
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = {
+                @Index(name = "ux_idempotency_key_hash", columnList = "key_hash", unique = true),
+                @Index(name = "ix_idempotency_expires", columnList = "expires_at")
+        })
+@Getter
+@Setter
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "key_hash", nullable = false, length = 64)
+    private String keyHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String endpoint;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // no-args constructor for JPA
+    protected IdempotencyRecord() {}
+
+    public IdempotencyRecord(String keyHash, Long userId, String endpoint, String requestHash, LocalDateTime expiresAt) {
+        this.keyHash = keyHash;
+        this.userId = userId;
+        this.endpoint = endpoint;
+        this.requestHash = requestHash;
+        this.expiresAt = expiresAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.taskapi.entity;
+
+import com.example.taskapi.entity.user.AppUser;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Server-side record of an issued refresh token
+ * - Only the SHA-256 digest of the token is stored
+ * - Tokens issued from one login share a family id; rotation adds a new
+ *   member and marks the presented one as used
+ * - Presenting a used or revoked token revokes the whole family
+ * - Token epoch ties the family to the user's access-token epoch
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "ux_refresh_token_hash", columnList = "token_hash", unique = true),
+                @Index(name = "ix_refresh_token_family", columnList = "family_id"),
+                @Index(name = "ix_refresh_token_expires", columnList = "expires_at")
+        })
+@Getter
+@Setter
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_refresh_token_user"))
+    private AppUser appUser;
+
+    @Column(name = "token_epoch", nullable = false)
+    private Long tokenEpoch = 0L;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "is_revoked", nullable = false)
+    private Boolean revoked = false;
+
+    // no-args constructor for JPA
+    protected RefreshToken() {}
+
+    public RefreshToken(String tokenHash, String familyId, AppUser appUser, long tokenEpoch, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.appUser = appUser;
+        this.tokenEpoch = tokenEpoch;
+        this.expiresAt = expiresAt;
+        this.revoked = false;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -23,21 +23,47 @@ import java.util.Objects;
  * Task Entity representing a task in the system
  * - Validation with custom annotations
  * - Auditing with created/modified timestamps and users
- * - Soft delete via archived flag
+ * - Soft delete via archived flag: DELETE only sets it, a background job
+ *   later moves archived (and long finished) tasks to tasks_archive
  * - Optimistic locking with version field
  * - Dynamic updates to optimize SQL operations
  * - Builder pattern for flexible object creation
+ * - Pooled sequence ids: ids are handed out in blocks without a round trip
+ *   per insert, so Hibernate can send inserts as JDBC batches (IDENTITY
+ *   disables insert batching)
+ * - Composite indexes for the owner-scoped access paths (listing by
+ *   creation time, title or id, filtering by status, changes since), each
+ *   with the archived flag right after the owner so live listings skip
+ *   archived rows inside the index; the listing indexes end in the cursor
+ *   sort key and id, so a keyset page is a range seek; two more indexes find
+ *   deleted and long DONE rows for the archive job
+ * - Second-level cached (READ_WRITE): bulk JPQL updates clear the whole
+ *   region, so single-task writes are native conditional statements that
+ *   evict only their own entry (see TaskRepositoryCustomImpl)
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks",
+        indexes = {
+                @Index(name = "ix_task_user_created", columnList = "user_id, is_archived, created_at, id"),
+                @Index(name = "ix_task_user_title", columnList = "user_id, is_archived, title, id"),
+                @Index(name = "ix_task_user_id", columnList = "user_id, is_archived, id"),
+                @Index(name = "ix_task_user_status_created", columnList = "user_id, is_archived, status, created_at"),
+                @Index(name = "ix_task_user_updated", columnList = "user_id, is_archived, updated_at"),
+                @Index(name = "ix_task_archive_candidates", columnList = "is_archived, status, updated_at"),
+                @Index(name = "ix_task_archived_updated", columnList = "is_archived, updated_at")
+        })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
 public class Task {
 
+    public static final String CACHE_REGION = "tasks";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required and cannot be empty")
@@ -0,0 +1,43 @@
+package com.example.taskapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Materialized task counts of one user
+ * - Open and done count tasks that are not archived; archived counts the rest
+ * - Kept in step by TaskCounterService in the same transaction as the task change
+ * - A reconciliation job recounts from the tasks table and repairs drift
+ * - The change stamp goes up with every change to the user's tasks; list
+ *   ETags are built from it
+ */
+@Entity
+@Table(name = "task_counters")
+@Getter
+@Setter
+public class TaskCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "open_count", nullable = false)
+    private long openCount;
+
+    @Column(name = "done_count", nullable = false)
+    private long doneCount;
+
+    @Column(name = "archived_count", nullable = false)
+    private long archivedCount;
+
+    @Column(name = "change_stamp", nullable = false)
+    private long changeStamp;
+
+    // no-args constructor for JPA
+    protected TaskCounter() {}
+
+    public TaskCounter(Long userId) {
+        this.userId = userId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.taskapi.entity.user;
 
 import com.example.taskapi.entity.Task;
+import com.example.taskapi.security.UserDetailsCacheInvalidator;
 import com.example.taskapi.validation.NoXSS;
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
@@ -50,11 +51,13 @@ import java.util.List;
 @Getter
 @Entity
 @Table(name = "app_users")
-@EntityListeners(AuditingEntityListener.class)
-@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({AuditingEntityListener.class, UserDetailsCacheInvalidator.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppUser.CACHE_REGION)
 @DynamicUpdate
 public class AppUser {
 
+    public static final String CACHE_REGION = "users";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
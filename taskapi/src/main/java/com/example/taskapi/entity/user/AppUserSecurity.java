@@ -30,6 +30,10 @@ public class AppUserSecurity {
     @Column(name = "is_verified", nullable = false)
     private Boolean verified = false;
 
+    // Bumped to invalidate every token issued before the change
+    @Column(name = "token_epoch", nullable = false)
+    private Long tokenEpoch = 0L;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -3,6 +3,7 @@ package com.example.taskapi.exception;
 import com.example.taskapi.response.AppErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -79,6 +81,111 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handle TaskConflictException (stale If-Match or a concurrent change)
+     */
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<AppErrorResponse> handleTaskConflictException(
+            TaskConflictException ex, WebRequest request) {
+
+        log.warn("Task conflict: {}", extractPath(request));
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message(ex.getMessage())
+                .status(HttpStatus.CONFLICT.value())
+                .errorCode("TASK_CONFLICT")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle PasswordChangeConflictException (concurrent password change)
+     */
+    @ExceptionHandler(PasswordChangeConflictException.class)
+    public ResponseEntity<AppErrorResponse> handlePasswordChangeConflictException(
+            PasswordChangeConflictException ex, WebRequest request) {
+
+        log.warn("Password change conflict: {}", extractPath(request));
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message(ex.getMessage())
+                .status(HttpStatus.CONFLICT.value())
+                .errorCode("PASSWORD_CONFLICT")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle an Idempotency-Key reused for a different request
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<AppErrorResponse> handleIdempotencyKeyMismatchException(
+            IdempotencyKeyMismatchException ex, WebRequest request) {
+
+        log.warn("Idempotency key reused with a different request: {}", extractPath(request));
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message(ex.getMessage())
+                .status(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                .errorCode("IDEMPOTENCY_KEY_MISMATCH")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Handle an Idempotency-Key whose first request did not leave a response
+     */
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<AppErrorResponse> handleIdempotencyKeyConflictException(
+            IdempotencyKeyConflictException ex, WebRequest request) {
+
+        log.warn("Idempotency key in use: {}", extractPath(request));
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message(ex.getMessage())
+                .status(HttpStatus.CONFLICT.value())
+                .errorCode("IDEMPOTENCY_KEY_IN_USE")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle InvalidInputException
+     */
+    @ExceptionHandler(InvalidInputException.class)
+    public ResponseEntity<AppErrorResponse> handleInvalidInputException(
+            InvalidInputException ex, WebRequest request) {
+
+        log.warn("Invalid input: {}", ex.getMessage());
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message(ex.getMessage())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .errorCode("INVALID_INPUT")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handle constraint validation exceptions
      */
@@ -276,6 +383,73 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handle a saturated password hashing executor
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<AppErrorResponse> handlePasswordHashingBusyException(
+            PasswordHashingBusyException ex, WebRequest request) {
+
+        log.warn("Password hashing busy: {}", ex.getMessage());
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .errorCode("AUTH_SERVICE_BUSY")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle throttled auth requests
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<AppErrorResponse> handleRateLimitExceededException(
+            RateLimitExceededException ex, WebRequest request) {
+
+        log.debug("Rate limit exceeded: {}", extractPath(request));
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message(ex.getMessage())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .errorCode("RATE_LIMITED")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle rejected refresh tokens
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<AppErrorResponse> handleInvalidRefreshTokenException(
+            InvalidRefreshTokenException ex, WebRequest request) {
+
+        log.warn("Refresh token rejected: {}", ex.getMessage());
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message(ex.getMessage())
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .errorCode("INVALID_REFRESH_TOKEN")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+    }
+
     /**
      * Handle data integrity violations
      */
@@ -311,6 +485,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle request parameters that cannot be converted (unknown status, bad date)
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<AppErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, WebRequest request) {
+
+        log.warn("Invalid value for parameter {}: {}", ex.getName(), ex.getValue());
+
+        AppErrorResponse errorResponse = AppErrorResponse.builder()
+                .message("Invalid value for parameter " + ex.getName())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .errorCode("INVALID_INPUT")
+                .path(extractPath(request))
+                .timestamp()
+                .isLoggable(false)
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handle illegal argument exceptions
      */
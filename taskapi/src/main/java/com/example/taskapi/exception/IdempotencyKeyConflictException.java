@@ -0,0 +1,22 @@
+package com.example.taskapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Another request with the same Idempotency-Key finished without a stored
+ * response (it failed); the client may retry with the same key
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyKeyConflictException extends AppException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyConflictException() {
+        super("A request with this Idempotency-Key is in progress or failed, retry later");
+        getError().setErrorCode("IDEMPOTENCY_KEY_IN_USE");
+        getError().setStatus(HttpStatus.CONFLICT.value());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * An Idempotency-Key was sent again with a different request body
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyMismatchException extends AppException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyMismatchException() {
+        super("Idempotency-Key was already used for a different request");
+        getError().setErrorCode("IDEMPOTENCY_KEY_MISMATCH");
+        getError().setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidRefreshTokenException extends AppException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidRefreshTokenException() {
+        super("Refresh token is invalid or expired");
+        getError().setStatus(HttpStatus.UNAUTHORIZED.value());
+        getError().setErrorCode("INVALID_REFRESH_TOKEN");
+        getError().setIsLoggable(false);
+    }
+}
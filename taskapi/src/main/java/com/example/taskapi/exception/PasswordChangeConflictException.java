@@ -0,0 +1,21 @@
+package com.example.taskapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * The password hash changed between verifying the current password and storing the new one
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class PasswordChangeConflictException extends AppException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public PasswordChangeConflictException() {
+        super("Password was changed by another request, log in again and retry");
+        getError().setErrorCode("PASSWORD_CONFLICT");
+        getError().setStatus(HttpStatus.CONFLICT.value());
+    }
+}
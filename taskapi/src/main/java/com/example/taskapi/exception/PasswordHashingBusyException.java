@@ -0,0 +1,19 @@
+package com.example.taskapi.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends AppException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Authentication service is busy, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+        getError().setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        getError().setErrorCode("AUTH_SERVICE_BUSY");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.taskapi.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Getter
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitExceededException extends AppException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("Too many requests, please retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+        getError().setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        getError().setErrorCode("RATE_LIMITED");
+        getError().setIsLoggable(false);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * The task changed since the version the client (or this request) read
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TaskConflictException extends AppException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public TaskConflictException() {
+        super("Task was modified by another request, reload it and retry");
+        getError().setErrorCode("TASK_CONFLICT");
+        getError().setStatus(HttpStatus.CONFLICT.value());
+    }
+}
@@ -6,9 +6,9 @@ import com.example.taskapi.entity.user.AppUserSecurity;
 import com.example.taskapi.exception.InvalidInputException;
 import com.example.taskapi.mapper.UserMapper;
 import com.example.taskapi.request.RegistrationRequest;
+import com.example.taskapi.security.PasswordHashingService;
 import com.example.taskapi.validation.UserValidationImpl;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
@@ -19,11 +19,11 @@ import org.springframework.validation.Validator;
 @Component
 public class UserFactoryImpl implements UserFactory {
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
-    public UserFactoryImpl(UserMapper userMapper, PasswordEncoder passwordEncoder) {
+    public UserFactoryImpl(UserMapper userMapper, PasswordHashingService passwordHashingService) {
         this.userMapper = userMapper;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
     }
 
 
@@ -39,7 +39,7 @@ public class UserFactoryImpl implements UserFactory {
 
         // Create AppUserSecurity Object
         AppUserSecurity security = new AppUserSecurity();
-        security.setPasswordHash(passwordEncoder.encode(request.password()));
+        security.setPasswordHash(passwordHashingService.encode(request.password()));
         user.setAppUserSecurity(security);
         log.info("User Security Done Successfully");
 
@@ -4,30 +4,55 @@ package com.example.taskapi.mapper;
 import com.example.taskapi.dto.TaskDto;
 import com.example.taskapi.entity.Task;
 import com.example.taskapi.request.TaskCreateRequest;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+/**
+ * Plain field copies; no reflection or type-map lookups per call.
+ * Keep in step with the fields of {@link TaskDto} and {@link Task}.
+ */
 @Component
 public class TaskMapperImpl implements TaskMapper{
-    private final ModelMapper modelMapper;
-
-    public TaskMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
 
     @Override
     public TaskDto toDto(Task task) {
-        return modelMapper.map(task,TaskDto.class);
+        if (task == null) {
+            return null;
+        }
+        return new TaskDto(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getCreatedAt(),
+                task.getVersion()
+        );
     }
 
     @Override
     public Task toEntity(TaskDto taskDto) {
-        return modelMapper.map(taskDto,Task.class);
+        if (taskDto == null) {
+            return null;
+        }
+        Task task = Task.builder()
+                .title(taskDto.getTitle())
+                .description(taskDto.getDescription())
+                .status(taskDto.getStatus())
+                .build();
+        task.setId(taskDto.getId());
+        return task;
     }
 
+    /**
+     * Status is resolved by TaskFactory from the request's status string
+     */
     @Override
     public Task toEntity(TaskCreateRequest taskCreateRequest) {
-        return modelMapper.map(taskCreateRequest,Task.class);
+        if (taskCreateRequest == null) {
+            return null;
+        }
+        return Task.builder()
+                .title(taskCreateRequest.getTitle())
+                .description(taskCreateRequest.getDescription())
+                .build();
     }
 }
@@ -2,30 +2,57 @@ package com.example.taskapi.mapper;
 
 import com.example.taskapi.dto.UserDto;
 import com.example.taskapi.entity.user.AppUser;
+import com.example.taskapi.entity.user.AppUserContact;
 import com.example.taskapi.request.RegistrationRequest;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+/**
+ * Plain field copies; no reflection or type-map lookups per call.
+ * Security data (password hash, flags) is never mapped here.
+ */
 @Component
 public class UserMapperImpl implements UserMapper{
 
-    private final ModelMapper modelMapper;
-
-    public UserMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
-    // Add mapping methods here
     public AppUser toEntity(UserDto dto) {
-        return modelMapper.map(dto, AppUser.class);
+        if (dto == null) {
+            return null;
+        }
+        AppUserContact contact = new AppUserContact();
+        contact.setEmail(dto.getEmail());
+        contact.setPhoneNumber(dto.getPhoneNumber());
+
+        AppUser user = AppUser.builder()
+                .name(dto.getName())
+                .contact(contact)
+                .build();
+        user.setId(dto.getId());
+        return user;
     }
 
    public AppUser toEntity(RegistrationRequest registrationRequest) {
-        return modelMapper.map(registrationRequest, AppUser.class);
+        if (registrationRequest == null) {
+            return null;
+        }
+        AppUserContact contact = new AppUserContact();
+        contact.setEmail(registrationRequest.email());
+
+        return AppUser.builder()
+                .name(registrationRequest.name())
+                .contact(contact)
+                .build();
     }
 
     public UserDto toDto(AppUser user) {
-        return modelMapper.map(user, UserDto.class);
+        if (user == null) {
+            return null;
+        }
+        return new UserDto(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getPhoneNumber(),
+                null // address is not stored on AppUser
+        );
     }
 
 
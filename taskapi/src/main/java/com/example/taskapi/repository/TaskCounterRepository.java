@@ -0,0 +1,45 @@
+package com.example.taskapi.repository;
+
+import com.example.taskapi.entity.TaskCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, Long> {
+
+    /**
+     * Add deltas in place, so concurrent changes never overwrite each other;
+     * 0 rows means the user has no counter row yet
+     */
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.openCount = c.openCount + :open, c.doneCount = c.doneCount + :done, " +
+            "c.archivedCount = c.archivedCount + :archived, c.changeStamp = c.changeStamp + 1 " +
+            "WHERE c.userId = :userId")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("open") long open,
+                   @Param("done") long done,
+                   @Param("archived") long archived);
+
+    /**
+     * Record a change that leaves the counts as they are
+     */
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.changeStamp = c.changeStamp + 1 WHERE c.userId = :userId")
+    int incrementChangeStamp(@Param("userId") Long userId);
+
+    @Query("SELECT c.changeStamp FROM TaskCounter c WHERE c.userId = :userId")
+    Long findChangeStampByUserId(@Param("userId") Long userId);
+
+    /**
+     * Lock counter rows while they are recounted, so deltas wait instead of being lost
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM TaskCounter c WHERE c.userId IN :userIds")
+    List<TaskCounter> findAllForUpdate(@Param("userIds") Collection<Long> userIds);
+}
@@ -1,25 +1,109 @@
 package com.example.taskapi.repository;
 
+import com.example.taskapi.dto.TaskArchiveRow;
+import com.example.taskapi.dto.TaskCountRow;
+import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.dto.TaskSearchRow;
+import com.example.taskapi.dto.TaskStateRow;
+import com.example.taskapi.dto.TaskVersionRow;
 import com.example.taskapi.entity.Task;
 import com.example.taskapi.entity.appenum.TaskStatus;
 import com.example.taskapi.entity.user.AppUser;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     boolean existsById(Long id);
     <T> T findById(@Param("id") Long id, Class<T> projection);
     void deleteById(Long id);
 
     Page<Task> findByAppUserId(@Param("userId") Long userId, Pageable pageable);
-    @Modifying
-    @Transactional
-    @Query("UPDATE Task t SET t.status = :status WHERE t.id = :id")
-    void updateTaskStatusById(@Param("id") Long id,
-                              @Param("status") TaskStatus status);
+
+    @Query("SELECT new com.example.taskapi.dto.TaskCountRow(t.appUser.id, t.status, t.archived, COUNT(t)) " +
+            "FROM Task t WHERE t.appUser.id IN :userIds GROUP BY t.appUser.id, t.status, t.archived")
+    List<TaskCountRow> countGroupedByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Read path: constructor projections straight into TaskDto, no managed entities;
+    // live tasks only, archived ones are listed through TaskFilter
+
+    String TASK_DTO = "new com.example.taskapi.dto.TaskDto(t.id, t.title, t.description, t.status, t.createdAt, t.version)";
+
+    @Query(value = "SELECT " + TASK_DTO + " FROM Task t WHERE t.appUser.id = :userId AND t.archived = false",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.appUser.id = :userId AND t.archived = false")
+    Page<TaskDto> findDtoPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Slice return type: fetches size + 1 rows, no count query
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.appUser.id = :userId AND t.archived = false")
+    Slice<TaskDto> findDtoSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.id IN :ids AND t.appUser.id = :userId AND t.archived = false")
+    List<TaskDto> findDtosByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Search index maintenance: walk the live tasks in id order, one batch at a time
+
+    @Query("SELECT new com.example.taskapi.dto.TaskSearchRow(t.id, t.appUser.id, t.version, t.title, t.description) " +
+            "FROM Task t WHERE t.id > :afterId AND t.archived = false ORDER BY t.id")
+    List<TaskSearchRow> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.example.taskapi.dto.TaskSearchRow(t.id, t.appUser.id, t.version, t.title, t.description) " +
+            "FROM Task t WHERE t.id IN :ids AND t.archived = false")
+    List<TaskSearchRow> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.taskapi.dto.TaskVersionRow(t.id, t.appUser.id, t.version) " +
+            "FROM Task t WHERE t.id > :afterId AND t.archived = false ORDER BY t.id")
+    List<TaskVersionRow> findVersionRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Bulk status changes: lock the rows that will change, then one set-based UPDATE
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.taskapi.dto.TaskStateRow(t.id, t.status, t.archived) FROM Task t " +
+            "WHERE t.id IN :ids AND t.appUser.id = :userId AND t.archived = false AND t.status <> :status")
+    List<TaskStateRow> findStatesToChange(@Param("ids") Collection<Long> ids,
+                                          @Param("userId") Long userId,
+                                          @Param("status") TaskStatus status);
+
+
+    /**
+     * Deleted tasks due for tasks_archive: archived before archivedBefore.
+     * Locked, so they cannot change while they are moved. No ORDER BY: any
+     * chunk will do, and a range seek on the archived-updated index serves it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.taskapi.dto.TaskArchiveRow(t.id, t.appUser.id, t.status, t.archived) FROM Task t " +
+            "WHERE t.archived = true AND t.updatedAt < :archivedBefore")
+    List<TaskArchiveRow> findArchivedCandidates(@Param("archivedBefore") LocalDateTime archivedBefore,
+                                                Pageable pageable);
+
+    /**
+     * Live tasks due for tasks_archive: DONE since before doneBefore (tasks
+     * never updated count from creation). Locked and unordered like
+     * findArchivedCandidates; the candidates index serves it. Kept apart from
+     * that query because an OR of the two would be planned as a table scan.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.taskapi.dto.TaskArchiveRow(t.id, t.appUser.id, t.status, t.archived) FROM Task t " +
+            "WHERE t.archived = false AND t.status = :done AND (t.updatedAt < :doneBefore " +
+            "OR (t.updatedAt IS NULL AND t.createdAt < :doneBefore))")
+    List<TaskArchiveRow> findDoneCandidates(@Param("done") TaskStatus done,
+                                            @Param("doneBefore") LocalDateTime doneBefore,
+                                            Pageable pageable);
+
+    /**
+     * Owner and version of a live task, to explain why a conditional update
+     * or delete matched no row
+     */
+    @Query("SELECT new com.example.taskapi.dto.TaskVersionRow(t.id, t.appUser.id, t.version) " +
+            "FROM Task t WHERE t.id = :id AND t.archived = false")
+    Optional<TaskVersionRow> findVersionRowById(@Param("id") Long id);
 }
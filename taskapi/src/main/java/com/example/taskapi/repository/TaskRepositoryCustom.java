@@ -0,0 +1,69 @@
+package com.example.taskapi.repository;
+
+import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.request.TaskFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Keyset page of a user's tasks: rows strictly after (afterValue, afterId)
+     * in the given order, or the first rows when afterId is null
+     */
+    List<TaskDto> findSeekPage(Long userId, TaskFilter filter, TaskSortField sortField, boolean ascending,
+                            Object afterValue, Long afterId, int limit);
+
+    /**
+     * Page of a user's tasks matching the filter, with a total count
+     */
+    Page<TaskDto> findFilteredPage(Long userId, TaskFilter filter, Pageable pageable);
+
+    /**
+     * Slice of a user's tasks matching the filter, without a count query
+     */
+    Slice<TaskDto> findFilteredSlice(Long userId, TaskFilter filter, Pageable pageable);
+
+    /**
+     * UPDATE ... WHERE id = ? AND user_id = ? AND version = ?; bumps the
+     * version and evicts only this task from the second-level cache
+     *
+     * @return rows changed, 0 when the task is missing, archived, not the user's or at another version
+     */
+    int updateStatusIfCurrent(Long id, Long userId, long version, TaskStatus status);
+
+    /**
+     * Soft delete: sets is_archived with the same conditions as updateStatusIfCurrent
+     *
+     * @return rows archived, 0 when the task is missing, archived, not the user's or at another version
+     */
+    int archiveIfCurrent(Long id, Long userId, long version);
+
+    /**
+     * Copy the tasks to tasks_archive and delete them from tasks, evicting
+     * each from the second-level cache
+     *
+     * @return rows moved
+     */
+    int moveToArchive(Collection<Long> ids);
+
+    /**
+     * Owner-scoped status change of many tasks. Bumps the version like an
+     * entity update would and evicts only these tasks from the second-level
+     * cache.
+     *
+     * @return rows changed; tasks already in the status, archived or not the user's are skipped
+     */
+    int updateStatusByIds(Collection<Long> ids, Long userId, TaskStatus status);
+
+    /**
+     * Ids of a user's tasks matching the filter and not yet in the given
+     * status, in id order after afterId
+     */
+    List<Long> findIdsToChangeStatus(Long userId, TaskFilter filter, TaskStatus status, long afterId, int limit);
+}
@@ -0,0 +1,263 @@
+package com.example.taskapi.repository;
+
+import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.exception.InvalidInputException;
+import com.example.taskapi.request.TaskFilter;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand-written queries that Spring Data cannot derive
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    // Properties a filtered listing may be ordered by
+    private static final Set<String> SORTABLE = Set.of("id", "title", "status", "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskDto> findSeekPage(Long userId, TaskFilter filter, TaskSortField sortField, boolean ascending,
+                                   Object afterValue, Long afterId, int limit) {
+        // Property names come from the TaskSortField whitelist, never from user input
+        String property = "t." + sortField.property();
+        String op = ascending ? ">" : "<";
+        String direction = ascending ? " ASC" : " DESC";
+
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(TaskRepository.TASK_DTO)
+                .append(" FROM Task t");
+        appendWhere(jpql, filter);
+        if (afterId != null) {
+            if (sortField == TaskSortField.ID) {
+                jpql.append(" AND t.id ").append(op).append(" :afterId");
+            } else {
+                jpql.append(" AND (").append(property).append(' ').append(op).append(" :afterValue")
+                        .append(" OR (").append(property).append(" = :afterValue AND t.id ").append(op).append(" :afterId))");
+            }
+        }
+        jpql.append(" ORDER BY ");
+        if (sortField != TaskSortField.ID) {
+            jpql.append(property).append(direction).append(", ");
+        }
+        jpql.append("t.id").append(direction);
+
+        TypedQuery<TaskDto> query = entityManager.createQuery(jpql.toString(), TaskDto.class)
+                .setMaxResults(limit);
+        bindWhere(query, userId, filter);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (sortField != TaskSortField.ID) {
+                query.setParameter("afterValue", afterValue);
+            }
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Page<TaskDto> findFilteredPage(Long userId, TaskFilter filter, Pageable pageable) {
+        List<TaskDto> content = listQuery(userId, filter, pageable, pageable.getPageSize()).getResultList();
+
+        StringBuilder countJpql = new StringBuilder("SELECT COUNT(t) FROM Task t");
+        appendWhere(countJpql, filter);
+        TypedQuery<Long> countQuery = entityManager.createQuery(countJpql.toString(), Long.class);
+        bindWhere(countQuery, userId, filter);
+
+        return new PageImpl<>(content, pageable, countQuery.getSingleResult());
+    }
+
+    @Override
+    public Slice<TaskDto> findFilteredSlice(Long userId, TaskFilter filter, Pageable pageable) {
+        // One extra row tells whether there is a next slice
+        List<TaskDto> rows = listQuery(userId, filter, pageable, pageable.getPageSize() + 1).getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public int updateStatusIfCurrent(Long id, Long userId, long version, TaskStatus status) {
+        int updated = conditional("UPDATE tasks SET status = :status, version = version + 1, updated_at = :now " +
+                "WHERE id = :id AND user_id = :userId AND version = :version AND is_archived = false")
+                .setParameter("status", status.name())
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .setParameter("version", version)
+                .executeUpdate();
+        evict(id, updated);
+        return updated;
+    }
+
+    @Override
+    public int archiveIfCurrent(Long id, Long userId, long version) {
+        int archived = conditional("UPDATE tasks SET is_archived = true, version = version + 1, updated_at = :now " +
+                "WHERE id = :id AND user_id = :userId AND version = :version AND is_archived = false")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .setParameter("version", version)
+                .executeUpdate();
+        evict(id, archived);
+        return archived;
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, Long userId, TaskStatus status) {
+        int updated = conditional("UPDATE tasks SET status = :status, version = version + 1, updated_at = :now " +
+                "WHERE id IN (:ids) AND user_id = :userId AND status <> :status AND is_archived = false")
+                .setParameter("status", status.name())
+                .setParameter("now", LocalDateTime.now())
+                .setParameterList("ids", ids)
+                .setParameter("userId", userId)
+                .executeUpdate();
+        ids.forEach(id -> evict(id, updated));
+        return updated;
+    }
+
+    @Override
+    public int moveToArchive(Collection<Long> ids) {
+        conditional("INSERT INTO tasks_archive (id, user_id, title, description, status, created_at, updated_at, " +
+                "version, deleted, archived_at) SELECT id, user_id, title, description, status, created_at, " +
+                "updated_at, version, is_archived, :now FROM tasks WHERE id IN (:ids)")
+                .setParameter("now", LocalDateTime.now())
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        int moved = conditional("DELETE FROM tasks WHERE id IN (:ids)")
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        ids.forEach(id -> evict(id, moved));
+        return moved;
+    }
+
+    @Override
+    public List<Long> findIdsToChangeStatus(Long userId, TaskFilter filter, TaskStatus status, long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT t.id FROM Task t");
+        appendWhere(jpql, filter);
+        jpql.append(" AND t.status <> :targetStatus AND t.id > :afterId ORDER BY t.id");
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class)
+                .setParameter("targetStatus", status)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit);
+        bindWhere(query, userId, filter);
+        return query.getResultList();
+    }
+
+    // ------------------- Helpers -------------------
+
+    /**
+     * Native statement on known task ids. The empty query space keeps
+     * Hibernate from clearing every cached task (what any JPQL UPDATE/DELETE
+     * on Task does); the affected entries are evicted by the caller instead.
+     */
+    private NativeQuery<?> conditional(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("");
+    }
+
+    /**
+     * Evict now and again after commit, so a concurrent read cannot put the
+     * old row back into the cache in between
+     */
+    private void evict(Long id, int rows) {
+        if (rows == 0) {
+            return;
+        }
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Task.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(Task.class, id);
+                }
+            });
+        }
+    }
+
+    private TypedQuery<TaskDto> listQuery(Long userId, TaskFilter filter, Pageable pageable, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(TaskRepository.TASK_DTO)
+                .append(" FROM Task t");
+        appendWhere(jpql, filter);
+        appendOrderBy(jpql, pageable.getSort());
+
+        TypedQuery<TaskDto> query = entityManager.createQuery(jpql.toString(), TaskDto.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit);
+        bindWhere(query, userId, filter);
+        return query;
+    }
+
+    /**
+     * Owner and archived flag first, then the filter columns in index order
+     */
+    private static void appendWhere(StringBuilder jpql, TaskFilter filter) {
+        jpql.append(" WHERE t.appUser.id = :userId AND t.archived = :archived");
+        if (filter.status() != null) {
+            jpql.append(" AND t.status = :status");
+        }
+        if (filter.createdAfter() != null) {
+            jpql.append(" AND t.createdAt >= :createdAfter");
+        }
+        if (filter.createdBefore() != null) {
+            jpql.append(" AND t.createdAt < :createdBefore");
+        }
+        if (filter.updatedSince() != null) {
+            jpql.append(" AND t.updatedAt >= :updatedSince");
+        }
+    }
+
+    private static void bindWhere(Query query, Long userId, TaskFilter filter) {
+        query.setParameter("userId", userId);
+        query.setParameter("archived", filter.effectiveArchived());
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status());
+        }
+        if (filter.createdAfter() != null) {
+            query.setParameter("createdAfter", filter.createdAfter());
+        }
+        if (filter.createdBefore() != null) {
+            query.setParameter("createdBefore", filter.createdBefore());
+        }
+        if (filter.updatedSince() != null) {
+            query.setParameter("updatedSince", filter.updatedSince());
+        }
+    }
+
+    private static void appendOrderBy(StringBuilder jpql, Sort sort) {
+        if (sort.isUnsorted()) {
+            return;
+        }
+        String separator = " ORDER BY ";
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new InvalidInputException("Cannot sort by " + order.getProperty());
+            }
+            jpql.append(separator).append("t.").append(order.getProperty())
+                    .append(order.isAscending() ? " ASC" : " DESC");
+            separator = ", ";
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskapi.repository;
+
+import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.exception.InvalidInputException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sort keys that support keyset (cursor) pagination
+ *
+ * Each key is non-null and combined with the id as a tie-breaker, so
+ * (key, id) is unique and a page can resume right after the last row.
+ */
+public enum TaskSortField {
+
+    CREATED_AT("createdAt"),
+    TITLE("title"),
+    ID("id");
+
+    private final String property;
+
+    TaskSortField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public static TaskSortField fromProperty(String property) {
+        for (TaskSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidInputException("Cursor pagination supports sortBy createdAt, title or id");
+    }
+
+    /**
+     * Parse a cursor value back into the type the query compares against
+     */
+    public Object parse(String value) {
+        return switch (this) {
+            case CREATED_AT -> LocalDateTime.parse(value);
+            case TITLE -> value;
+            case ID -> Long.valueOf(value);
+        };
+    }
+
+    public String valueOf(TaskDto task) {
+        return switch (this) {
+            case CREATED_AT -> task.getCreatedAt().toString();
+            case TITLE -> task.getTitle();
+            case ID -> task.getId().toString();
+        };
+    }
+}
@@ -1,9 +1,47 @@
 package com.example.taskapi.repository;
 
 import com.example.taskapi.entity.user.AppUser;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 public interface UserRepository  extends JpaRepository<AppUser, Long> {
     boolean existsByAppUserContactEmail(String email);
     <T> T findByAppUserContactEmail(String email, Class<T> type);
+
+    /**
+     * Current token epoch of an active user, or null when the user is missing or disabled
+     */
+    @Query("SELECT u.appUserSecurity.tokenEpoch FROM AppUser u " +
+            "WHERE u.id = :id AND u.appUserSecurity.active = true")
+    Long findActiveTokenEpochById(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM AppUser u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AppUser u SET u.appUserSecurity.tokenEpoch = u.appUserSecurity.tokenEpoch + 1 WHERE u.id = :id")
+    int incrementTokenEpochById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AppUser u SET u.appUserSecurity.active = false WHERE u.id = :id")
+    int deactivateById(@Param("id") Long id);
+
+    /**
+     * Replace the password hash only if it is still the one that was verified
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AppUser u SET u.appUserSecurity.passwordHash = :newHash " +
+            "WHERE u.id = :id AND u.appUserSecurity.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
 }
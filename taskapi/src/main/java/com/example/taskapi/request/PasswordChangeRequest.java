@@ -0,0 +1,18 @@
+package com.example.taskapi.request;
+
+import com.example.taskapi.validation.NoXSS;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Builder;
+
+@Builder
+public record PasswordChangeRequest
+        (
+                @NotBlank(message = "Current password is required")
+                @NoXSS
+                String currentPassword,
+
+                @NotBlank(message = "New password is required")
+                @NoXSS
+                String newPassword
+        ) {
+}
@@ -0,0 +1,12 @@
+package com.example.taskapi.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record RefreshTokenRequest
+        (
+                @NotBlank(message = "Refresh token is required")
+                @Size(max = 128, message = "Refresh token is too long")
+                String refreshToken
+        ) {
+}
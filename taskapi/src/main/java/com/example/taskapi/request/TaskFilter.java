@@ -0,0 +1,60 @@
+package com.example.taskapi.request;
+
+import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.exception.InvalidInputException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters on GET /tasks
+ *
+ * Every query built from a filter leads with (user_id, is_archived); archived
+ * defaults to false, so deleted (archived) tasks are only listed when asked
+ * for. Only combinations that continue an index declared on Task are
+ * accepted, each with or without archived:
+ * - status, optionally with a createdAfter/createdBefore range: (user_id, is_archived, status, created_at)
+ * - createdAfter/createdBefore alone: (user_id, is_archived, created_at, id)
+ * - updatedSince alone: (user_id, is_archived, updated_at)
+ * Anything else would filter the owner's rows after the index lookup, so it
+ * is rejected rather than run.
+ *
+ * createdAfter and updatedSince are inclusive, createdBefore is exclusive.
+ */
+public record TaskFilter(TaskStatus status,
+                         Boolean archived,
+                         LocalDateTime createdAfter,
+                         LocalDateTime createdBefore,
+                         LocalDateTime updatedSince) {
+
+    public static final TaskFilter NONE = new TaskFilter(null, null, null, null, null);
+
+    public boolean isEmpty() {
+        return status == null && archived == null && !hasCreatedRange() && updatedSince == null;
+    }
+
+    /**
+     * Archived flag to query with: live tasks unless archived ones were asked for
+     */
+    public boolean effectiveArchived() {
+        return Boolean.TRUE.equals(archived);
+    }
+
+    public boolean hasCreatedRange() {
+        return createdAfter != null || createdBefore != null;
+    }
+
+    /**
+     * @throws InvalidInputException if no index serves this combination
+     */
+    public void requireIndexed() {
+        int accessPaths = (status != null || hasCreatedRange() ? 1 : 0)
+                + (updatedSince != null ? 1 : 0);
+        if (accessPaths > 1) {
+            throw new InvalidInputException("Unsupported filter combination: use status with createdAfter/createdBefore, "
+                    + "or updatedSince on its own (either may be combined with archived)");
+        }
+        if (createdAfter != null && createdBefore != null && !createdAfter.isBefore(createdBefore)) {
+            throw new InvalidInputException("createdAfter must be before createdBefore");
+        }
+    }
+}
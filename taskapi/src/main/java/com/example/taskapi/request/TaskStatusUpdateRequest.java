@@ -0,0 +1,17 @@
+package com.example.taskapi.request;
+
+import com.example.taskapi.entity.appenum.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Bulk status change: the tasks are given either by id or by a filter
+ */
+public record TaskStatusUpdateRequest(
+        @NotNull(message = "Status is required")
+        TaskStatus status,
+        List<Long> ids,
+        TaskFilter filter
+) {
+}
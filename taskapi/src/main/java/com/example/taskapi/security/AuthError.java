@@ -0,0 +1,100 @@
+package com.example.taskapi.security;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Error responses written by {@link JwtAuthenticationFilter}
+ *
+ * Each body is rendered to bytes once; only the timestamp changes, and it is
+ * formatted at most once per second. Writing a rejection therefore needs no
+ * map, no ObjectMapper and no date formatting on the hot path. Messages are
+ * fixed literals without characters that need JSON escaping.
+ */
+enum AuthError {
+
+    MISSING_TOKEN(HttpStatus.UNAUTHORIZED, "MISSING_TOKEN", "Authentication token is required"),
+    TOKEN_EXPIRED(HttpStatus.UNAUTHORIZED, "TOKEN_EXPIRED", "Authentication token has expired"),
+    UNSUPPORTED_TOKEN(HttpStatus.UNAUTHORIZED, "UNSUPPORTED_TOKEN", "Token format is not supported"),
+    MALFORMED_TOKEN(HttpStatus.UNAUTHORIZED, "MALFORMED_TOKEN", "Token is malformed"),
+    INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token is invalid"),
+    INVALID_TOKEN_CLAIMS(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token does not contain valid user information"),
+    TOKEN_VALIDATION_FAILED(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token validation failed"),
+    TOKEN_REVOKED(HttpStatus.UNAUTHORIZED, "TOKEN_REVOKED", "Token has been revoked"),
+    USER_NOT_FOUND(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "User not found"),
+    ACCOUNT_DISABLED(HttpStatus.UNAUTHORIZED, "ACCOUNT_DISABLED", "Account is disabled"),
+    ACCOUNT_LOCKED(HttpStatus.UNAUTHORIZED, "ACCOUNT_LOCKED", "Account is locked"),
+    ACCOUNT_EXPIRED(HttpStatus.UNAUTHORIZED, "ACCOUNT_EXPIRED", "Account has expired"),
+    CREDENTIALS_EXPIRED(HttpStatus.UNAUTHORIZED, "CREDENTIALS_EXPIRED", "Credentials have expired"),
+    AUTHENTICATION_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "AUTHENTICATION_ERROR", "Authentication processing failed");
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final byte[] PREFIX = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+
+    private static volatile Timestamp currentTimestamp;
+
+    private final HttpStatus status;
+    private final String errorCode;
+    private final byte[] suffix;
+    private final AtomicLong rejections = new AtomicLong();
+
+    AuthError(HttpStatus status, String errorCode, String message) {
+        this.status = status;
+        this.errorCode = errorCode;
+        this.suffix = ("\",\"status\":" + status.value()
+                + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"errorCode\":\"" + errorCode
+                + "\",\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    String errorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Count a rejection of this kind
+     *
+     * @return number of rejections so far, used for log sampling
+     */
+    long recordRejection() {
+        return rejections.incrementAndGet();
+    }
+
+    void write(HttpServletResponse response) throws IOException {
+        byte[] timestamp = timestamp();
+        response.setStatus(status.value());
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLength(PREFIX.length + timestamp.length + suffix.length);
+
+        ServletOutputStream out = response.getOutputStream();
+        out.write(PREFIX);
+        out.write(timestamp);
+        out.write(suffix);
+        out.flush();
+    }
+
+    private static byte[] timestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        Timestamp cached = currentTimestamp;
+        if (cached == null || cached.second() != second) {
+            String formatted = TIMESTAMP_FORMAT.format(
+                    LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault()));
+            cached = new Timestamp(second, formatted.getBytes(StandardCharsets.UTF_8));
+            currentTimestamp = cached;
+        }
+        return cached.bytes();
+    }
+
+    private record Timestamp(long second, byte[] bytes) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.taskapi.security;
+
+import com.example.taskapi.cache.BoundedCache;
+import com.example.taskapi.cache.CacheStats;
+import com.example.taskapi.exception.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process throttle for the password endpoints
+ *
+ * Login is limited per client IP and per normalized email, register per
+ * client IP. Each key has its own {@link TokenBucket}; buckets live in a
+ * bounded LRU so memory stays flat under key-spraying. Every take extends a
+ * bucket's expiry to the moment it would be full again, so only buckets
+ * that carry no state expire and start full. A rejection never reaches the
+ * database or BCrypt.
+ */
+@Component
+@Slf4j
+public class AuthRateLimiter {
+
+    private final boolean enabled;
+    private final int loginPerIp;
+    private final int loginPerEmail;
+    private final int registerPerIp;
+    private final BoundedCache<String, TokenBucket> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    public AuthRateLimiter(
+            @Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.rate-limit.login-per-ip:20}") int loginPerIp,
+            @Value("${app.security.rate-limit.login-per-email:5}") int loginPerEmail,
+            @Value("${app.security.rate-limit.register-per-ip:5}") int registerPerIp,
+            @Value("${app.security.rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.loginPerIp = loginPerIp;
+        this.loginPerEmail = loginPerEmail;
+        this.registerPerIp = registerPerIp;
+        // Capacity equals the per-minute rate, so no bucket is ever more than a minute from full
+        this.buckets = new BoundedCache<>("authRateLimit", maxKeys, Duration.ofMinutes(1));
+    }
+
+    /**
+     * @throws RateLimitExceededException if the IP or the email is over its limit
+     */
+    public void checkLogin(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        acquire("login:ip:" + clientIp, loginPerIp);
+        if (email != null) {
+            acquire("login:email:" + UserDetailsCache.normalize(email), loginPerEmail);
+        }
+    }
+
+    /**
+     * @throws RateLimitExceededException if the IP is over its limit
+     */
+    public void checkRegister(String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        acquire("register:ip:" + clientIp, registerPerIp);
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public CacheStats stats() {
+        return buckets.stats();
+    }
+
+    private void acquire(String key, int perMinute) {
+        long now = System.nanoTime();
+        // Created atomically, so a burst of first requests shares one bucket
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(perMinute, perMinute, now));
+        long waitNanos = bucket.tryAcquire(now);
+        // Keep the bucket until it has refilled; a fresh one is equivalent after that
+        long refillMillis = TimeUnit.NANOSECONDS.toMillis(bucket.fullAtNanos() - now) + 1;
+        buckets.extendExpiry(key, bucket, System.currentTimeMillis() + refillMillis);
+        if (waitNanos > 0) {
+            rejected.increment();
+            log.debug("Rate limit hit for {}", key);
+            throw new RateLimitExceededException(TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.taskapi.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Client IP lookup shared by the JWT filter and the auth rate limiter
+ */
+public final class ClientIpResolver {
+
+    private ClientIpResolver() {
+    }
+
+    /**
+     * Get client IP address considering proxy headers
+     */
+    public static String resolve(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        String xRealIP = request.getHeader("X-Real-IP");
+        String xClientIP = request.getHeader("X-Client-IP");
+
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        if (xRealIP != null && !xRealIP.isEmpty()) {
+            return xRealIP;
+        }
+        if (xClientIP != null && !xClientIP.isEmpty()) {
+            return xClientIP;
+        }
+        return request.getRemoteAddr();
+    }
+}
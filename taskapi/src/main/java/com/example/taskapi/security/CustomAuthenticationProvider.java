@@ -7,7 +7,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 /**
@@ -18,14 +17,14 @@ import org.springframework.stereotype.Component;
 public class CustomAuthenticationProvider implements AuthenticationProvider {
 
     private final CustomUserDetailsService userDetailsService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     @Autowired
     public CustomAuthenticationProvider(
             CustomUserDetailsService userDetailsService,
-            PasswordEncoder passwordEncoder) {
+            PasswordHashingService passwordHashingService) {
         this.userDetailsService = userDetailsService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
     }
 
     @Override
@@ -37,8 +36,8 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
         // Load user details
         UserDetails userDetails = userDetailsService.loadUserByUsername(email);
 
-        // Verify password
-        if (!passwordEncoder.matches(password, userDetails.getPassword())) {
+        // Verify password on the hashing executor, not the request thread
+        if (!passwordHashingService.matches(password, userDetails.getPassword())) {
             throw new BadCredentialsException("Invalid credentials");
         }
 
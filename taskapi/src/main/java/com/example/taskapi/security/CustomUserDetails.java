@@ -47,6 +47,9 @@ public class CustomUserDetails implements UserDetails {
     private boolean active;
     private boolean verified;
 
+    // Token epoch the user's tokens must carry to be accepted
+    private long tokenEpoch;
+
 
     /**
      * SECURITY: Factory method to create UserDetails from AppUser
@@ -72,6 +75,8 @@ public class CustomUserDetails implements UserDetails {
                 .password(user.getAppUserSecurity().getPasswordHash()) // Secure hash access
                 .active(user.getAppUserSecurity().getActive())
                 .verified(user.getAppUserSecurity().getVerified())
+                .tokenEpoch(user.getAppUserSecurity().getTokenEpoch() != null
+                        ? user.getAppUserSecurity().getTokenEpoch() : 0L)
                 .build();
     }
 
@@ -104,6 +109,20 @@ public class CustomUserDetails implements UserDetails {
         return username;
     }
 
+    /**
+     * SECURITY: Build a principal straight from verified token claims
+     * Used by the stateless mode, where no database row is loaded per request
+     */
+    public static CustomUserDetails fromToken(VerifiedToken token) {
+        return CustomUserDetails.builder()
+                .id(token.userId())
+                .username(token.username())
+                .email(token.subject())
+                .active(true)
+                .tokenEpoch(token.tokenEpoch())
+                .build();
+    }
+
     /**
      * SECURITY: Check if account is not expired
      * Account expires after certain period of inactivity
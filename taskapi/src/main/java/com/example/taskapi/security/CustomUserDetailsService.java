@@ -12,8 +12,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
-
 /**
  * Custom UserDetailsService implementation for Spring Security
  *
@@ -27,16 +25,22 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final TransactionTemplate transactionTemplate;
+    private final UserDetailsCache userDetailsCache;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository, TransactionTemplate transactionTemplate) {
+    public CustomUserDetailsService(UserRepository userRepository, TransactionTemplate transactionTemplate,
+                                    UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.transactionTemplate = transactionTemplate;
+        this.userDetailsCache = userDetailsCache;
     }
 
     /**
      * SECURITY: Load user by email (used as username in our system)
      *
+     * Served from {@link UserDetailsCache} when possible; unknown emails are
+     * remembered briefly so repeated misses do not query the database.
+     *
      * @param email The user's email address (our login username)
      * @return UserDetails for the authenticated user
      * @throws UsernameNotFoundException if user not found
@@ -44,19 +48,29 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
-        log.info("Loading user by email: {}", email);
         if (email == null || email.trim().isEmpty()) {
             throw new UsernameNotFoundException("Email cannot be empty");
         }
+        String normalizedEmail = UserDetailsCache.normalize(email);
 
+        CustomUserDetails cached = userDetailsCache.get(normalizedEmail);
+        if (cached != null) {
+            return cached;
+        }
+        if (userDetailsCache.isKnownMissing(normalizedEmail)) {
+            throw new UserNotFoundException();
+        }
+
+        log.info("Loading user by email: {}", normalizedEmail);
         // Find user by email
-        AppUser user = transactionTemplate.execute(status -> {
-            status.isReadOnly();
-          return Optional.ofNullable(userRepository.findByAppUserContactEmail(email.toLowerCase().trim(),AppUser.class))
-                    .orElseThrow(UserNotFoundException::new);
-        });
+        AppUser user = transactionTemplate.execute(status ->
+                userRepository.findByAppUserContactEmail(normalizedEmail, AppUser.class));
+
+        if (user == null) {
+            userDetailsCache.putMissing(normalizedEmail);
+            throw new UserNotFoundException();
+        }
 
-        assert user != null;
         log.info("User found: {}", user.getAppUserContact().getEmail());
         // Check if user data is complete
         if (user.getAppUserSecurity() == null) {
@@ -73,6 +87,8 @@ public class CustomUserDetailsService implements UserDetailsService {
             );
         }
         // Create and return secure UserDetails
-        return CustomUserDetails.from(user);
+        CustomUserDetails userDetails = CustomUserDetails.from(user);
+        userDetailsCache.put(normalizedEmail, userDetails);
+        return userDetails;
     }
 }
@@ -2,8 +2,8 @@ package com.example.taskapi.security;
 
 import com.example.taskapi.security.CustomUserDetailsService;
 import com.example.taskapi.security.JwtService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import jakarta.servlet.FilterChain;
@@ -12,7 +12,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,14 +20,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -36,27 +31,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
-    private final ObjectMapper objectMapper;
-    private final AntPathMatcher pathMatcher;
-
-    // PUBLIC ENDPOINTS - Use patterns for better matching
-    private final List<String> PUBLIC_ENDPOINTS = List.of(
-            "/auth/**",
-            "/h2-console/**",
-            "/error",
-            "/swagger-ui/**",
-            "/v3/api-docs/**"
-    );
+    private final TokenEpochService tokenEpochService;
+    private final RouteTable routeTable;
+
+    // Build the principal from token claims instead of loading the user per request
+    private final boolean statelessPrincipal;
+
+    // Log one in N rejections of each kind so a 401 flood does not flood the logs
+    private final long rejectionLogSampleRate;
 
     @Autowired
     public JwtAuthenticationFilter(
             JwtService jwtService,
             CustomUserDetailsService userDetailsService,
-            ObjectMapper objectMapper) {
+            TokenEpochService tokenEpochService,
+            RouteTable routeTable,
+            @Value("${app.security.stateless-principal.enabled:false}") boolean statelessPrincipal,
+            @Value("${app.security.rejection-log.sample-rate:100}") long rejectionLogSampleRate) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
-        this.objectMapper = objectMapper;
-        this.pathMatcher = new AntPathMatcher();
+        this.tokenEpochService = tokenEpochService;
+        this.routeTable = routeTable;
+        this.statelessPrincipal = statelessPrincipal;
+        this.rejectionLogSampleRate = Math.max(1, rejectionLogSampleRate);
     }
 
     @Override
@@ -67,7 +64,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             // Skip JWT validation for public endpoints
-            if (isPublicEndpoint(request.getRequestURI())) {
+            if (routeTable.classify(request) == RouteTable.RouteClass.PUBLIC) {
                 log.debug("Skipping JWT validation for public endpoint: {}", request.getRequestURI());
                 filterChain.doFilter(request, response);
                 return;
@@ -77,35 +74,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = parseJwt(request);
 
             if (jwt == null || jwt.trim().isEmpty()) {
-                log.debug("No JWT token found in request to: {}", request.getRequestURI());
-                sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "MISSING_TOKEN",
-                        "Authentication token is required");
+                reject(request, response, AuthError.MISSING_TOKEN, "no bearer token");
                 return;
             }
 
+            // Verify signature and expiry once; every later check reads these claims
+            VerifiedToken verifiedToken = jwtService.verifyToken(jwt);
+
             // Process JWT token and authenticate user
-            authenticateUser(request, response, filterChain, jwt);
+            authenticateUser(request, response, filterChain, verifiedToken);
 
         } catch (ExpiredJwtException ex) {
-            log.warn("JWT token expired for request: {} from IP: {}", request.getRequestURI(), getClientIP(request));
-            sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "TOKEN_EXPIRED",
-                    "Authentication token has expired");
+            reject(request, response, AuthError.TOKEN_EXPIRED, ex.getMessage());
         } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token: {}", ex.getMessage());
-            sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "UNSUPPORTED_TOKEN",
-                    "Token format is not supported");
+            reject(request, response, AuthError.UNSUPPORTED_TOKEN, ex.getMessage());
         } catch (MalformedJwtException ex) {
-            log.error("Malformed JWT token: {}", ex.getMessage());
-            sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "MALFORMED_TOKEN",
-                    "Token is malformed");
+            reject(request, response, AuthError.MALFORMED_TOKEN, ex.getMessage());
+        } catch (JwtException ex) {
+            reject(request, response, AuthError.INVALID_TOKEN, ex.getMessage());
         } catch (IllegalArgumentException ex) {
-            log.error("Invalid JWT token argument: {}", ex.getMessage());
-            sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "INVALID_TOKEN",
-                    "Token is invalid");
+            reject(request, response, AuthError.INVALID_TOKEN, ex.getMessage());
         } catch (Exception ex) {
             log.error("Authentication error: {}", ex.getMessage(), ex);
-            sendErrorResponse(response, HttpStatus.INTERNAL_SERVER_ERROR, "AUTHENTICATION_ERROR",
-                    "Authentication processing failed");
+            AuthError.AUTHENTICATION_ERROR.write(response);
         }
     }
 
@@ -113,18 +104,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * FIXED: Authenticate user with JWT token
      */
     private void authenticateUser(HttpServletRequest request, HttpServletResponse response,
-                                  FilterChain filterChain, String jwt)
+                                  FilterChain filterChain, VerifiedToken verifiedToken)
             throws ServletException, IOException {
 
         try {
-            // Extract username from token
-            String username = jwtService.extractUsername(jwt);
+            String username = verifiedToken.subject();
             log.debug("Extracted username from JWT: {}", (username));
 
             if (username == null || username.trim().isEmpty()) {
-                log.warn("No username found in JWT token");
-                sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "INVALID_TOKEN",
-                        "Token does not contain valid user information");
+                reject(request, response, AuthError.INVALID_TOKEN_CLAIMS, "no subject");
                 return;
             }
 
@@ -135,52 +123,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // FIXED: Load user details from database
             UserDetails userDetails;
-            try {
-                userDetails = userDetailsService.loadUserByUsername(username);
-                log.debug("User details loaded for: {}", (username));
-            } catch (UsernameNotFoundException ex) {
-                log.warn("User not found: {}", (username));
-                sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND",
-                        "User not found");
-                return;
+            if (statelessPrincipal) {
+                // Stateless mode: trust the verified claims, check only the token epoch
+                if (!tokenEpochService.isCurrent(verifiedToken.userId(), verifiedToken.tokenEpoch())) {
+                    reject(request, response, AuthError.TOKEN_REVOKED, username);
+                    return;
+                }
+                userDetails = CustomUserDetails.fromToken(verifiedToken);
+            } else {
+                // FIXED: Load user details from database
+                try {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                    log.debug("User details loaded for: {}", (username));
+                } catch (UsernameNotFoundException ex) {
+                    reject(request, response, AuthError.USER_NOT_FOUND, username);
+                    return;
+                }
+
+                if (userDetails instanceof CustomUserDetails customUserDetails
+                        && customUserDetails.getTokenEpoch() != verifiedToken.tokenEpoch()) {
+                    reject(request, response, AuthError.TOKEN_REVOKED, username);
+                    return;
+                }
             }
 
             // FIXED: Validate token against user details (proper method signature)
-            if (!jwtService.isTokenValid(jwt, userDetails)) {
-                log.warn("Invalid JWT token for user: {}", (username));
-                sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "INVALID_TOKEN",
-                        "Token validation failed");
+            if (!jwtService.isTokenValid(verifiedToken, userDetails)) {
+                reject(request, response, AuthError.TOKEN_VALIDATION_FAILED, username);
                 return;
             }
 
             // Check user account status
             if (!userDetails.isEnabled()) {
-                log.warn("Account disabled: {}", (username));
-                sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "ACCOUNT_DISABLED",
-                        "Account is disabled");
+                reject(request, response, AuthError.ACCOUNT_DISABLED, username);
                 return;
             }
 
             if (!userDetails.isAccountNonLocked()) {
-                log.warn("Account locked: {}", (username));
-                sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "ACCOUNT_LOCKED",
-                        "Account is locked");
+                reject(request, response, AuthError.ACCOUNT_LOCKED, username);
                 return;
             }
 
             if (!userDetails.isAccountNonExpired()) {
-                log.warn("Account expired: {}", (username));
-                sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "ACCOUNT_EXPIRED",
-                        "Account has expired");
+                reject(request, response, AuthError.ACCOUNT_EXPIRED, username);
                 return;
             }
 
             if (!userDetails.isCredentialsNonExpired()) {
-                log.warn("Credentials expired: {}", username);
-                sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "CREDENTIALS_EXPIRED",
-                        "Credentials have expired");
+                reject(request, response, AuthError.CREDENTIALS_EXPIRED, username);
                 return;
             }
 
@@ -195,19 +186,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         } catch (Exception ex) {
             log.error("Error during user authentication: {}", ex.getMessage(), ex);
-            sendErrorResponse(response, HttpStatus.INTERNAL_SERVER_ERROR, "AUTHENTICATION_ERROR",
-                    "Authentication processing failed");
+            AuthError.AUTHENTICATION_ERROR.write(response);
         }
     }
 
-    /**
-     * Check if the request path is a public endpoint
-     */
-    private boolean isPublicEndpoint(String requestPath) {
-        return PUBLIC_ENDPOINTS.stream()
-                .anyMatch(pattern -> pathMatcher.match(pattern, requestPath));
-    }
-
     /**
      * Extract JWT token from Authorization header
      */
@@ -234,45 +216,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Send structured JSON error response
+     * Write a pre-rendered 401 and log a sample of the rejections
      */
-    private void sendErrorResponse(HttpServletResponse response, HttpStatus status,
-                                   String errorCode, String message) throws IOException {
-
-        response.setStatus(status.value());
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now().toString());
-        errorResponse.put("status", status.value());
-        errorResponse.put("error", status.getReasonPhrase());
-        errorResponse.put("errorCode", errorCode);
-        errorResponse.put("message", message);
-
-        String jsonResponse = objectMapper.writeValueAsString(errorResponse);
-        response.getWriter().write(jsonResponse);
-        response.getWriter().flush();
-    }
-
-    /**
-     * Get client IP address considering proxy headers
-     */
-    private String getClientIP(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        String xRealIP = request.getHeader("X-Real-IP");
-        String xClientIP = request.getHeader("X-Client-IP");
-
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        if (xRealIP != null && !xRealIP.isEmpty()) {
-            return xRealIP;
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        AuthError error, String detail) throws IOException {
+        long count = error.recordRejection();
+        if (log.isDebugEnabled()) {
+            log.debug("Rejected {} with {}: {}", request.getRequestURI(), error, detail);
+        } else if ((count - 1) % rejectionLogSampleRate == 0) {
+            log.warn("Rejected {} from IP {} with {} ({} so far): {}", request.getRequestURI(),
+                    ClientIpResolver.resolve(request), error.errorCode(), count, detail);
         }
-        if (xClientIP != null && !xClientIP.isEmpty()) {
-            return xClientIP;
-        }
-        return request.getRemoteAddr();
+        error.write(response);
     }
 
     /**
@@ -280,13 +235,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-
         // Skip filter for static resources
-        return path.startsWith("/css/") ||
-                path.startsWith("/js/") ||
-                path.startsWith("/images/") ||
-                path.startsWith("/favicon.ico") ||
-                path.startsWith("/webjars/");
+        return routeTable.classify(request) == RouteTable.RouteClass.STATIC;
     }
 }
@@ -0,0 +1,200 @@
+package com.example.taskapi.security;
+
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shared HMAC keyring for signing and verifying JWTs
+ *
+ * Keys are loaded from configuration ({@code app.jwt.keys=kid:base64,...})
+ * or from a key file so every replica signs and verifies with the same
+ * keys. Tokens carry the signing key id in their {@code kid} header and
+ * the verifier looks the pre-built key up by id in O(1).
+ *
+ * Key file format (Java properties):
+ * <pre>
+ * active-kid=2025-10
+ * key.2025-09=base64secret
+ * key.2025-10=base64secret
+ * </pre>
+ * The file is re-read on a schedule, so rotating means adding a new key,
+ * pointing active-kid at it and removing the old key once its tokens expire.
+ */
+@Component
+@Slf4j
+public class JwtKeyring {
+
+    private static final String KEY_PREFIX = "key.";
+
+    private final String configuredKeys;
+    private final String configuredActiveKid;
+    private final String keyFile;
+    private final List<Runnable> rotationListeners = new CopyOnWriteArrayList<>();
+
+    private volatile KeySet keySet;
+    private volatile long keyFileModifiedAt;
+
+    public JwtKeyring(@Value("${app.jwt.keys:}") String configuredKeys,
+                      @Value("${app.jwt.active-kid:}") String configuredActiveKid,
+                      @Value("${app.jwt.key-file:}") String keyFile) throws NoSuchAlgorithmException {
+        this.configuredKeys = configuredKeys;
+        this.configuredActiveKid = configuredActiveKid;
+        this.keyFile = keyFile;
+        this.keySet = loadInitial();
+        log.info("JWT keyring loaded with key ids {}, active {}", keySet.keys().keySet(), keySet.activeKid());
+    }
+
+    public String activeKeyId() {
+        return keySet.activeKid();
+    }
+
+    public SecretKey signingKey() {
+        KeySet current = keySet;
+        return current.keys().get(current.activeKid());
+    }
+
+    /**
+     * SECURITY: Resolve the verification key for a token's kid header
+     * Tokens without a kid are checked against the active key
+     *
+     * @throws SignatureException if the key id is unknown
+     */
+    public SecretKey verificationKey(String kid) {
+        KeySet current = keySet;
+        SecretKey key = current.keys().get(kid != null ? kid : current.activeKid());
+        if (key == null) {
+            throw new SignatureException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Register a callback run after the key set changes
+     */
+    public void addRotationListener(Runnable listener) {
+        rotationListeners.add(listener);
+    }
+
+    /**
+     * Re-read the key file when it has changed
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.keyring.reload-interval-ms:60000}")
+    public void reloadKeyFile() {
+        if (keyFile == null || keyFile.isBlank()) {
+            return;
+        }
+        try {
+            long modifiedAt = Files.getLastModifiedTime(Path.of(keyFile)).toMillis();
+            if (modifiedAt == keyFileModifiedAt) {
+                return;
+            }
+            KeySet reloaded = loadFromFile(Path.of(keyFile));
+            keySet = reloaded;
+            keyFileModifiedAt = modifiedAt;
+            log.info("JWT keyring reloaded with key ids {}, active {}", reloaded.keys().keySet(), reloaded.activeKid());
+            rotationListeners.forEach(Runnable::run);
+        } catch (IOException | RuntimeException ex) {
+            // A half-written or malformed file must never take down the current keys
+            log.error("Failed to reload JWT key file {}, keeping current keys: {}", keyFile, ex.getMessage());
+        }
+    }
+
+    private KeySet loadInitial() throws NoSuchAlgorithmException {
+        if (keyFile != null && !keyFile.isBlank()) {
+            try {
+                Path path = Path.of(keyFile);
+                keyFileModifiedAt = Files.getLastModifiedTime(path).toMillis();
+                return loadFromFile(path);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot read JWT key file: " + keyFile, ex);
+            }
+        }
+        if (configuredKeys != null && !configuredKeys.isBlank()) {
+            return fromConfiguredKeys();
+        }
+
+        log.warn("No JWT keys configured (app.jwt.keys / app.jwt.key-file); using an ephemeral key. " +
+                "Tokens will not survive a restart or work across replicas.");
+        SecretKey ephemeral = KeyGenerator.getInstance("HmacSHA256").generateKey();
+        String kid = "ephemeral-" + UUID.randomUUID();
+        return new KeySet(kid, Map.of(kid, Keys.hmacShaKeyFor(ephemeral.getEncoded())));
+    }
+
+    private KeySet fromConfiguredKeys() {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        for (String entry : configuredKeys.split(",")) {
+            String trimmed = entry.trim();
+            int separator = trimmed.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("JWT key entries must be kid:base64secret");
+            }
+            keys.put(trimmed.substring(0, separator), decodeKey(trimmed.substring(separator + 1)));
+        }
+        return toKeySet(configuredActiveKid, keys);
+    }
+
+    private KeySet loadFromFile(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(KEY_PREFIX))
+                .sorted()
+                .forEach(name -> keys.put(name.substring(KEY_PREFIX.length()),
+                        decodeKey(properties.getProperty(name))));
+        String activeKid = properties.getProperty("active-kid", configuredActiveKid);
+        return toKeySet(activeKid, keys);
+    }
+
+    private KeySet toKeySet(String activeKid, Map<String, SecretKey> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("JWT keyring contains no keys");
+        }
+        String active = activeKid;
+        if (active == null || active.isBlank()) {
+            // Default to the last key listed
+            for (String kid : keys.keySet()) {
+                active = kid;
+            }
+        }
+        if (!keys.containsKey(active)) {
+            throw new IllegalStateException("Active JWT key id not in keyring: " + active);
+        }
+        return new KeySet(active, Collections.unmodifiableMap(keys));
+    }
+
+    private SecretKey decodeKey(String base64) {
+        try {
+            // Keys.hmacShaKeyFor rejects secrets shorter than 256 bits
+            return Keys.hmacShaKeyFor(Base64.getDecoder().decode(base64.trim()));
+        } catch (IllegalArgumentException | WeakKeyException ex) {
+            throw new IllegalStateException("Invalid JWT key: " + ex.getMessage(), ex);
+        }
+    }
+
+    private record KeySet(String activeKid, Map<String, SecretKey> keys) {
+    }
+}
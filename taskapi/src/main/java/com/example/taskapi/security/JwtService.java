@@ -27,6 +27,17 @@ public interface JwtService {
      */
     String extractUsername(String token);
 
+    /**
+     * Verify the token signature and expiry once and return its claims.
+     * Recently verified tokens are served from a bounded cache keyed by
+     * token digest, skipping the signature check entirely.
+     *
+     * @param token JWT token
+     * @return the verified token
+     * @throws io.jsonwebtoken.JwtException if the token is expired, malformed or not trusted
+     */
+    VerifiedToken verifyToken(String token);
+
     /**
      * Extract user ID from JWT token
      *
@@ -44,6 +55,15 @@ public interface JwtService {
      */
     boolean isTokenValid(String token, UserDetails userDetails);
 
+    /**
+     * Validate an already verified token against UserDetails
+     *
+     * @param token verified token
+     * @param userDetails the authenticated user details
+     * @return true if token belongs to the user and is not expired
+     */
+    boolean isTokenValid(VerifiedToken token, UserDetails userDetails);
+
     /**
      * Check if JWT token is expired
      *
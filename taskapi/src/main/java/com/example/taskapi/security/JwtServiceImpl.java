@@ -1,20 +1,24 @@
 package com.example.taskapi.security;
+import com.example.taskapi.cache.BoundedCache;
+import com.example.taskapi.cache.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.SignatureException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.Base64;
+import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,10 +28,10 @@ import java.util.function.Function;
  * JWT Service implementation using modern JJWT library
  *
  * SECURITY FEATURES:
- * - Secure key generation using Keys.secretKeyFor()
+ * - Shared keyring with kid headers (see {@link JwtKeyring})
  * - Proper token expiration handling
  * - Comprehensive token validation
- * - Support for refresh tokens
+ * - Short-lived access tokens (refresh via RefreshTokenService)
  * - Role-based claims
  * - Secure exception handling
  */
@@ -36,24 +40,53 @@ import java.util.function.Function;
 public class JwtServiceImpl implements JwtService {
 
 
+    private final JwtKeyring keyring;
+    private final JwtParser jwtParser;
 
-    private final String secretKey;
+    @Value("${app.jwt.access-expiration-ms:900000}") // 15 minutes
+    private long accessTokenExpirationMs;
 
-    @Value("${app.jwt.expiration}") // 24 hours in milliseconds
-    private long jwtExpirationMs;
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
 
-    public JwtServiceImpl() throws NoSuchAlgorithmException {
-        KeyGenerator keyGenerator = KeyGenerator.getInstance("HmacSHA256");
-        SecretKey sk = keyGenerator.generateKey();
-        this.secretKey = Base64.getEncoder().encodeToString(sk.getEncoded());
-    }
+    @Value("${app.jwt.verified-cache.ttl-ms:300000}")
+    private long verifiedCacheTtlMs;
 
+    @Value("${app.jwt.rejected-cache.max-size:10000}")
+    private int rejectedCacheMaxSize;
 
-    /**
-     * Returns the initialized signing key.
-     */
-    private SecretKey getKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    @Value("${app.jwt.rejected-cache.ttl-ms:60000}")
+    private long rejectedCacheTtlMs;
+
+    // Tokens that already passed signature verification, keyed by SHA-256 digest
+    private BoundedCache<String, VerifiedToken> verifiedTokens;
+
+    // Tokens that recently failed verification, so replays skip the parser
+    private BoundedCache<String, JwtException> rejectedTokens;
+
+    public JwtServiceImpl(JwtKeyring keyring) {
+        this.keyring = keyring;
+        // Build the parser once; the key is picked per token from its kid header
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyring.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    @PostConstruct
+    void initVerifiedTokenCache() {
+        this.verifiedTokens = new BoundedCache<>("verifiedTokens", verifiedCacheMaxSize,
+                Duration.ofMillis(verifiedCacheTtlMs));
+        this.rejectedTokens = new BoundedCache<>("rejectedTokens", rejectedCacheMaxSize,
+                Duration.ofMillis(rejectedCacheTtlMs));
+        // A removed key must not keep validating tokens from the cache, and a
+        // newly added key may make a previously rejected token valid
+        keyring.addRotationListener(verifiedTokens::clear);
+        keyring.addRotationListener(rejectedTokens::clear);
     }
 
     @Override
@@ -68,8 +101,9 @@ public class JwtServiceImpl implements JwtService {
         claims.put("userId", customUserDetails.getId());
         claims.put("actualUername", customUserDetails.getActualUsername());
         claims.put("email", customUserDetails.getUsername());
+        claims.put("epoch", customUserDetails.getTokenEpoch());
 
-        return buildToken(claims, userDetails.getUsername(), jwtExpirationMs);
+        return buildToken(claims, userDetails.getUsername(), accessTokenExpirationMs);
     }
 
     /**
@@ -80,43 +114,63 @@ public class JwtServiceImpl implements JwtService {
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .header().keyId(keyring.activeKeyId()).and()
                 .claims(extraClaims)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getKey())
+                .signWith(keyring.signingKey())
                 .compact();
     }
 
+    @Override
+    public VerifiedToken verifyToken(String token) {
+        String digest = TokenDigests.sha256(token);
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtException rejected = rejectedTokens.get(digest);
+        if (rejected != null) {
+            // Same token, same verdict: rethrow without parsing again
+            throw rejected;
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = VerifiedToken.from(extractAllClaims(token));
+        } catch (JwtException ex) {
+            rejectedTokens.put(digest, ex);
+            throw ex;
+        }
+        long notAfter = verified.expiration() != null ? verified.expiration().getTime() : Long.MAX_VALUE;
+        verifiedTokens.put(digest, verified, notAfter);
+        return verified;
+    }
+
     @Override
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyToken(token).subject();
     }
 
     @Override
     public Long extractUserId(String token) {
-        return extractClaim(token, claims -> {
-            Object userId = claims.get("userId");
-            if (userId instanceof Number) {
-                return ((Number) userId).longValue();
-            }
-            return null;
-        });
+        return verifyToken(token).userId();
     }
     
     /**
      * Extract expiration date from token
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verifyToken(token).expiration();
     }
 
     /**
      * Generic method to extract claims from token
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verifyToken(token).claims());
     }
 
     /**
@@ -124,22 +178,23 @@ public class JwtServiceImpl implements JwtService {
      */
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getKey())
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException ex) {
             log.debug("JWT token is expired: {}", ex.getMessage());
             throw ex;
         } catch (UnsupportedJwtException ex) {
-            log.error("JWT token is unsupported: {}", ex.getMessage());
+            log.debug("JWT token is unsupported: {}", ex.getMessage());
             throw ex;
         } catch (MalformedJwtException ex) {
-            log.error("JWT token is malformed: {}", ex.getMessage());
+            log.debug("JWT token is malformed: {}", ex.getMessage());
+            throw ex;
+        } catch (SignatureException ex) {
+            log.debug("JWT signature rejected: {}", ex.getMessage());
             throw ex;
         } catch (IllegalArgumentException ex) {
-            log.error("JWT token compact of handler are invalid: {}", ex.getMessage());
+            log.debug("JWT token compact of handler are invalid: {}", ex.getMessage());
             throw ex;
         }
     }
@@ -147,7 +202,7 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public boolean isTokenExpired(String token) {
         try {
-            return extractExpiration(token).before(new Date());
+            return verifyToken(token).isExpired();
         } catch (ExpiredJwtException e) {
             return true;
         }
@@ -156,11 +211,31 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            return isTokenValid(verifyToken(token), userDetails);
         } catch (Exception e) {
             log.error("Token validation failed: {}", e.getMessage());
             return false;
         }
     }
+
+    @Override
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject() != null
+                && token.subject().equals(userDetails.getUsername())
+                && !token.isExpired();
+    }
+
+    /**
+     * Hit/miss/eviction counters of the verified-token cache
+     */
+    public CacheStats verifiedTokenCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    /**
+     * Hit/miss/eviction counters of the rejected-token cache
+     */
+    public CacheStats rejectedTokenCacheStats() {
+        return rejectedTokens.stats();
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.taskapi.security;
+
+/**
+ * Password hashing and verification off the request threads
+ *
+ * BCrypt work runs on a separately sized executor with a bounded queue, so
+ * a login or registration burst cannot occupy every web worker. When the
+ * queue is full the call fails fast instead of waiting.
+ */
+public interface PasswordHashingService {
+
+    /**
+     * Hash a raw password
+     *
+     * @param rawPassword the raw password
+     * @return encoded password hash
+     * @throws com.example.taskapi.exception.PasswordHashingBusyException if the executor is saturated
+     */
+    String encode(CharSequence rawPassword);
+
+    /**
+     * Verify a raw password against a stored hash
+     *
+     * @param rawPassword the raw password
+     * @param encodedPassword the stored hash
+     * @return true if the password matches
+     * @throws com.example.taskapi.exception.PasswordHashingBusyException if the executor is saturated
+     */
+    boolean matches(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * Check whether a stored hash was made under a weaker policy than the current one
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the hash should be re-encoded
+     */
+    boolean needsRehash(String encodedPassword);
+
+    /**
+     * Queue wait and hash time counters of the executor
+     */
+    PasswordHashingStats stats();
+}
@@ -0,0 +1,158 @@
+package com.example.taskapi.security;
+
+import com.example.taskapi.exception.PasswordHashingBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Fixed CPU-sized pool for BCrypt work
+ *
+ * BCrypt is CPU bound, so the pool is sized to the cores rather than using
+ * virtual threads. The bounded queue is the admission limit: once it is
+ * full, callers get {@link PasswordHashingBusyException} (503 + Retry-After)
+ * immediately.
+ */
+@Service
+@Slf4j
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    public PasswordHashingServiceImpl(
+            PasswordEncoder passwordEncoder,
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${app.security.password-hashing.timeout-ms:10000}") long timeoutMs,
+            @Value("${app.security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing executor started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Only upgrades are reported, so nodes calibrated to different costs do
+     * not keep re-encoding each other's hashes.
+     */
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public PasswordHashingStats stats() {
+        long done = completed.sum();
+        return new PasswordHashingStats(
+                done,
+                rejected.sum(),
+                executor.getQueue().size(),
+                executor.getActiveCount(),
+                done == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / done,
+                maxQueueWaitNanos.get() / 1_000_000.0,
+                done == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / done
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Run the hashing task on the pool and wait for it, failing fast when saturated
+     */
+    private <T> T run(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - submittedAt;
+                queueWaitNanos.add(waited);
+                maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+                try {
+                    return task.get();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("Password hashing timed out after {} ms", timeoutMs);
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
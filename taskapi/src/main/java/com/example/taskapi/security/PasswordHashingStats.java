@@ -0,0 +1,23 @@
+package com.example.taskapi.security;
+
+/**
+ * Snapshot of the password hashing executor
+ *
+ * @param completed   hashes finished
+ * @param rejected    calls refused because the queue was full or timed out
+ * @param queued      tasks currently waiting
+ * @param active      tasks currently hashing
+ * @param avgQueueWaitMillis mean time spent waiting in the queue
+ * @param maxQueueWaitMillis longest time spent waiting in the queue
+ * @param avgHashMillis mean time spent hashing
+ */
+public record PasswordHashingStats(
+        long completed,
+        long rejected,
+        int queued,
+        int active,
+        double avgQueueWaitMillis,
+        double maxQueueWaitMillis,
+        double avgHashMillis
+) {
+}
@@ -0,0 +1,131 @@
+package com.example.taskapi.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single source of truth for which routes need a token
+ *
+ * The route patterns are compiled once into a segment trie. Each request is
+ * classified by one walk down the trie, and the result is kept on the
+ * request so the JWT filter and the SecurityFilterChain never disagree or
+ * match twice.
+ *
+ * Patterns are either exact ("/auth/login") or subtree ("/h2-console/**",
+ * which also matches "/h2-console" itself). Anything unmatched is protected,
+ * including the API docs under /swagger-ui and /v3/api-docs.
+ */
+@Component
+public class RouteTable {
+
+    public enum RouteClass {
+        PUBLIC,
+        STATIC,
+        PROTECTED
+    }
+
+    private static final String ATTRIBUTE = RouteTable.class.getName() + ".classification";
+
+    private static final List<String> PUBLIC_ROUTES = List.of(
+            "/auth/login",
+            "/auth/register",
+            "/auth/refresh",
+            "/h2-console/**",
+            "/error"
+    );
+
+    private static final List<String> STATIC_ROUTES = List.of(
+            "/css/**",
+            "/js/**",
+            "/images/**",
+            "/favicon.ico",
+            "/webjars/**"
+    );
+
+    private final Node root = new Node();
+
+    public RouteTable() {
+        PUBLIC_ROUTES.forEach(pattern -> add(pattern, RouteClass.PUBLIC));
+        STATIC_ROUTES.forEach(pattern -> add(pattern, RouteClass.STATIC));
+    }
+
+    /**
+     * Classify the request, reusing the result if this path was already classified
+     */
+    public RouteClass classify(HttpServletRequest request) {
+        String path = pathOf(request);
+        if (request.getAttribute(ATTRIBUTE) instanceof Classification cached && cached.path().equals(path)) {
+            return cached.routeClass();
+        }
+        RouteClass routeClass = classify(path);
+        request.setAttribute(ATTRIBUTE, new Classification(path, routeClass));
+        return routeClass;
+    }
+
+    /**
+     * Request matcher for the SecurityFilterChain permitAll rule
+     */
+    public boolean isPermitted(HttpServletRequest request) {
+        return classify(request) != RouteClass.PROTECTED;
+    }
+
+    RouteClass classify(String path) {
+        Node node = root;
+        RouteClass subtreeMatch = root.subtree;
+
+        int start = path.startsWith("/") ? 1 : 0;
+        while (start <= path.length() && node != null) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node != null && node.subtree != null) {
+                subtreeMatch = node.subtree;
+            }
+            start = end + 1;
+        }
+
+        if (node != null && node.exact != null) {
+            return node.exact;
+        }
+        return subtreeMatch != null ? subtreeMatch : RouteClass.PROTECTED;
+    }
+
+    private void add(String pattern, RouteClass routeClass) {
+        boolean subtree = pattern.endsWith("/**");
+        String path = subtree ? pattern.substring(0, pattern.length() - 3) : pattern;
+
+        Node node = root;
+        for (String segment : path.substring(1).split("/")) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        if (subtree) {
+            node.subtree = routeClass;
+        } else {
+            node.exact = routeClass;
+        }
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)
+                ? uri.substring(contextPath.length())
+                : uri;
+    }
+
+    // Built at startup and only read afterwards
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private RouteClass exact;
+        private RouteClass subtree;
+    }
+
+    private record Classification(String path, RouteClass routeClass) {
+    }
+}
@@ -22,13 +22,16 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
     private final CustomAuthenticationProvider customAuthenticationProvider;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RouteTable routeTable;
 
 
     public SecurityConfig(CustomUserDetailsService userDetailsService
-                          , CustomAuthenticationProvider customAuthenticationProvider, JwtAuthenticationFilter jwtAuthenticationFilter) {
+                          , CustomAuthenticationProvider customAuthenticationProvider, JwtAuthenticationFilter jwtAuthenticationFilter
+                          , RouteTable routeTable) {
         this.userDetailsService = userDetailsService;
         this.customAuthenticationProvider = customAuthenticationProvider;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.routeTable = routeTable;
     }
 
     @Bean
@@ -40,7 +43,8 @@ public class SecurityConfig {
                 .headers(httpSecurityHeadersConfigurer -> httpSecurityHeadersConfigurer.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
                 .httpBasic(AbstractHttpConfigurer::disable)
                         .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/login", "/auth/register", "/h2-console/**").permitAll()
+                        // Same classification the JWT filter uses, see RouteTable
+                        .requestMatchers(routeTable::isPermitted).permitAll()
                         .anyRequest().authenticated()
                 )
                 .userDetailsService(userDetailsService)
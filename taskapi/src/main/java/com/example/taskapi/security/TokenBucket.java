@@ -0,0 +1,53 @@
+package com.example.taskapi.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in GCRA form
+ *
+ * The whole bucket state is one "theoretical arrival time" in nanos, so a
+ * take is a read, some arithmetic and a CAS, and buckets can be shared
+ * between threads without locking.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param capacity  tokens available in a burst
+     * @param perMinute refill rate
+     */
+    TokenBucket(int capacity, int perMinute, long nowNanos) {
+        this.emissionIntervalNanos = 60_000_000_000L / Math.max(1, perMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, capacity);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Instant (in nanos) at which the bucket is full again if nothing more is taken
+     */
+    long fullAtNanos() {
+        return theoreticalArrival.get();
+    }
+
+    /**
+     * Take one token
+     *
+     * @return 0 if the token was granted, otherwise nanos until one is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long wait = newTat - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * SHA-256 digests of bearer tokens, used as cache and storage keys so the
+ * raw token never has to be kept around.
+ */
+public final class TokenDigests {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private TokenDigests() {
+    }
+
+    public static String sha256(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.taskapi.security;
+
+import com.example.taskapi.cache.BoundedCache;
+import com.example.taskapi.cache.CacheStats;
+import com.example.taskapi.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Per-user token epoch check used instead of a full user load
+ *
+ * Every token carries the epoch the user had when it was issued. Bumping a
+ * user's epoch (or disabling the account) rejects all older tokens. The
+ * current epoch is read with a single-column query and cached briefly, so
+ * most requests never reach the database.
+ */
+@Service
+@Slf4j
+public class TokenEpochService {
+
+    // Cached for users that are missing or disabled
+    private static final Long REVOKED = -1L;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserDetailsCache userDetailsCache;
+    private final BoundedCache<Long, Long> epochs;
+
+    @Autowired
+    public TokenEpochService(UserRepository userRepository,
+                             TransactionTemplate transactionTemplate,
+                             UserDetailsCache userDetailsCache,
+                             @Value("${app.security.token-epoch.cache-size:10000}") int cacheSize,
+                             @Value("${app.security.token-epoch.cache-ttl-ms:30000}") long cacheTtlMs) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.userDetailsCache = userDetailsCache;
+        this.epochs = new BoundedCache<>("tokenEpochs", cacheSize, Duration.ofMillis(cacheTtlMs));
+    }
+
+    /**
+     * SECURITY: Check that a token was issued under the user's current epoch
+     *
+     * @param userId the token's user id
+     * @param tokenEpoch the epoch carried by the token
+     * @return true if the user is active and the epoch is current
+     */
+    public boolean isCurrent(Long userId, long tokenEpoch) {
+        if (userId == null) {
+            return false;
+        }
+        Long current = epochs.get(userId, this::loadEpoch);
+        return !REVOKED.equals(current) && current == tokenEpoch;
+    }
+
+    /**
+     * SECURITY: Invalidate every token issued to the user so far
+     *
+     * Joins the caller's transaction when there is one. The cached epoch is
+     * dropped now and again after commit, so a concurrent check cannot put
+     * the old epoch back in between.
+     */
+    public void revokeTokens(Long userId) {
+        log.info("Revoking tokens for user id: {}", userId);
+        userRepository.incrementTokenEpochById(userId);
+        epochs.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    epochs.invalidate(userId);
+                }
+            });
+        }
+        // Bulk update bypasses the entity listener
+        userDetailsCache.evictOnCommit(userId, null);
+    }
+
+    public CacheStats stats() {
+        return epochs.stats();
+    }
+
+    private Long loadEpoch(Long userId) {
+        Long epoch = transactionTemplate.execute(status -> userRepository.findActiveTokenEpochById(userId));
+        return epoch != null ? epoch : REVOKED;
+    }
+}
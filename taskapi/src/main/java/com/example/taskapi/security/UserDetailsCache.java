@@ -0,0 +1,115 @@
+package com.example.taskapi.security;
+
+import com.example.taskapi.cache.BoundedCache;
+import com.example.taskapi.cache.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * In-process cache of loaded user details, keyed by normalized email
+ *
+ * Holds positive entries for known users and short-lived negative entries
+ * for unknown emails, so repeated lookups (including credential-stuffing
+ * traffic) do not reach the database. Entries are dropped explicitly when
+ * the user row changes; the TTL bounds staleness across nodes.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final boolean enabled;
+    private final BoundedCache<String, CustomUserDetails> users;
+    private final BoundedCache<String, Boolean> unknownEmails;
+
+    public UserDetailsCache(@Value("${app.security.user-cache.enabled:true}") boolean enabled,
+                            @Value("${app.security.user-cache.max-size:10000}") int maxSize,
+                            @Value("${app.security.user-cache.ttl-ms:300000}") long ttlMs,
+                            @Value("${app.security.user-cache.negative-max-size:10000}") int negativeMaxSize,
+                            @Value("${app.security.user-cache.negative-ttl-ms:60000}") long negativeTtlMs) {
+        this.enabled = enabled;
+        this.users = new BoundedCache<>("userDetails", maxSize, Duration.ofMillis(ttlMs));
+        this.unknownEmails = new BoundedCache<>("unknownEmails", negativeMaxSize, Duration.ofMillis(negativeTtlMs));
+    }
+
+    /**
+     * Normalize an email the same way it is stored and looked up
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CustomUserDetails get(String normalizedEmail) {
+        return enabled ? users.get(normalizedEmail) : null;
+    }
+
+    public boolean isKnownMissing(String normalizedEmail) {
+        return enabled && unknownEmails.get(normalizedEmail) != null;
+    }
+
+    public void put(String normalizedEmail, CustomUserDetails userDetails) {
+        if (enabled) {
+            users.put(normalizedEmail, userDetails);
+            unknownEmails.invalidate(normalizedEmail);
+        }
+    }
+
+    public void putMissing(String normalizedEmail) {
+        if (enabled) {
+            unknownEmails.put(normalizedEmail, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Drop any positive or negative entry for the email
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        String normalizedEmail = normalize(email);
+        users.invalidate(normalizedEmail);
+        unknownEmails.invalidate(normalizedEmail);
+    }
+
+    /**
+     * Drop the entry of a user by id, covering an email that has since changed
+     */
+    public void evictUser(Long userId) {
+        if (userId != null) {
+            users.invalidateIf(details -> userId.equals(details.getId()));
+        }
+    }
+
+    /**
+     * Evict the user now and again after commit, so a concurrent login
+     * cannot put the old row back into the cache in between
+     *
+     * @param userId the user id
+     * @param email the user's email, or null to evict by id only
+     */
+    public void evictOnCommit(Long userId, String email) {
+        evictUser(userId);
+        evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUser(userId);
+                    evict(email);
+                }
+            });
+        }
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(users.stats(), unknownEmails.stats());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.taskapi.security;
+
+import com.example.taskapi.entity.user.AppUser;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps {@link UserDetailsCache} in step with AppUser
+ *
+ * Any persisted change to the user row (security flags, password hash,
+ * contact data) evicts the cached user details, once at flush and again
+ * after commit. Registered on AppUser and resolved through Spring's
+ * Hibernate bean container. Bulk JPQL updates bypass entity listeners and
+ * must evict explicitly.
+ */
+@Slf4j
+@Component
+public class UserDetailsCacheInvalidator {
+
+    private final UserDetailsCache userDetailsCache;
+
+    public UserDetailsCacheInvalidator(UserDetailsCache userDetailsCache) {
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(AppUser user) {
+        log.debug("Evicting cached user details for user id: {}", user.getId());
+        userDetailsCache.evictOnCommit(user.getId(), user.getEmail());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.taskapi.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Result of a single signature check and parse of a JWT.
+ *
+ * Everything the filter chain needs from the token is read once from the
+ * verified claims, so callers never parse the same token twice.
+ *
+ * @param subject  token subject (the user's email)
+ * @param userId   user id claim, or null when absent
+ * @param email    email claim
+ * @param username display username claim
+ * @param tokenEpoch user token epoch the token was issued under
+ * @param issuedAt issue time
+ * @param expiration expiry time
+ * @param claims   the full verified claim set for custom claims
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        String email,
+        String username,
+        long tokenEpoch,
+        Date issuedAt,
+        Date expiration,
+        Claims claims
+) {
+
+    static VerifiedToken from(Claims claims) {
+        Object userId = claims.get("userId");
+        Object tokenEpoch = claims.get("epoch");
+        return new VerifiedToken(
+                claims.getSubject(),
+                userId instanceof Number number ? number.longValue() : null,
+                claims.get("email", String.class),
+                claims.get("actualUername", String.class),
+                tokenEpoch instanceof Number epoch ? epoch.longValue() : 0L,
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims
+        );
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    public <T> T claim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.taskapi.service.idempotency;
+
+import com.example.taskapi.cache.CacheStats;
+import com.example.taskapi.response.ApiResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    ResponseEntity<ApiResponse> execute(String key, String endpoint, Object request,
+                                        Supplier<ResponseEntity<ApiResponse>> action);
+    int purgeExpired();
+    CacheStats stats();
+}
@@ -0,0 +1,200 @@
+package com.example.taskapi.service.idempotency;
+
+import com.example.taskapi.cache.BoundedCache;
+import com.example.taskapi.cache.CacheStats;
+import com.example.taskapi.entity.IdempotencyRecord;
+import com.example.taskapi.exception.IdempotencyKeyConflictException;
+import com.example.taskapi.exception.IdempotencyKeyMismatchException;
+import com.example.taskapi.exception.InvalidInputException;
+import com.example.taskapi.repository.IdempotencyRecordRepository;
+import com.example.taskapi.response.ApiResponse;
+import com.example.taskapi.security.CustomUserDetails;
+import com.example.taskapi.security.TokenDigests;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Replays stored responses for requests repeated with the same Idempotency-Key
+ *
+ * A repeated key is answered from a bounded in-memory index (one hash
+ * lookup), falling back to the idempotency_keys table after a restart or
+ * eviction. A new key is claimed by inserting its row in the same
+ * transaction as the action, and the response is stored in that row before
+ * commit: either the task and its stored response both commit or neither
+ * does. A concurrent request with the same key waits on the unique index,
+ * then fails to insert and replays the winner's response.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // Larger responses (big batches) are replayed from the table only
+    private static final int MAX_CACHED_BODY_CHARS = 64 * 1024;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BoundedCache<String, StoredResponse> responses;
+    private final Duration ttl;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+                                  @Value("${app.idempotency.ttl-ms:86400000}") long ttlMs) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.responses = new BoundedCache<>("idempotencyKeys", cacheSize, ttl);
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse> execute(String key, String endpoint, Object request,
+                                               Supplier<ResponseEntity<ApiResponse>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidInputException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Long userId = ((CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+        String keyHash = TokenDigests.sha256(userId + "\n" + endpoint + "\n" + key);
+        String requestHash = TokenDigests.sha256(toJson(request));
+
+        StoredResponse cached = responses.get(keyHash);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        Outcome outcome;
+        try {
+            outcome = transactionTemplate.execute(tx -> claimAndRun(keyHash, userId, endpoint, requestHash, action));
+        } catch (KeyClaimedException e) {
+            // A concurrent request with the same key committed first
+            outcome = transactionTemplate.execute(tx -> idempotencyRecordRepository.findByKeyHash(keyHash)
+                    .filter(r -> r.getStatusCode() != null)
+                    .map(r -> new Outcome(StoredResponse.of(r), null))
+                    .orElseThrow(IdempotencyKeyConflictException::new));
+        }
+
+        StoredResponse stored = outcome.stored();
+        if (stored.body().length() <= MAX_CACHED_BODY_CHARS) {
+            responses.put(keyHash, stored, stored.expiresAtMillis());
+        }
+        return outcome.response() != null ? outcome.response() : replay(stored, requestHash);
+    }
+
+    /**
+     * Remove keys that can no longer be replayed
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:3600000}")
+    public int purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return responses.stats();
+    }
+
+    // ------------------- Helpers -------------------
+
+    /**
+     * Runs inside the action's transaction: an existing row is replayed,
+     * otherwise the key is claimed, the action runs and its response is stored
+     */
+    private Outcome claimAndRun(String keyHash, Long userId, String endpoint, String requestHash,
+                                Supplier<ResponseEntity<ApiResponse>> action) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByKeyHash(keyHash);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (record.getExpiresAt().isAfter(now) && record.getStatusCode() != null) {
+                return new Outcome(StoredResponse.of(record), null);
+            }
+            // Expired and not purged yet: the key is free again
+            idempotencyRecordRepository.delete(record);
+            idempotencyRecordRepository.flush();
+        }
+
+        IdempotencyRecord record;
+        try {
+            record = idempotencyRecordRepository.saveAndFlush(
+                    new IdempotencyRecord(keyHash, userId, endpoint, requestHash, now.plus(ttl)));
+        } catch (DataIntegrityViolationException e) {
+            // Only the key row's unique index; integrity errors from the action propagate unchanged
+            throw new KeyClaimedException(e);
+        }
+        ResponseEntity<ApiResponse> response = action.get();
+        record.setStatusCode(response.getStatusCode().value());
+        record.setResponseBody(toJson(response.getBody()));
+        return new Outcome(StoredResponse.of(record), response);
+    }
+
+    private ResponseEntity<ApiResponse> replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException();
+        }
+        try {
+            JsonNode body = objectMapper.readTree(stored.body());
+            return ResponseEntity.status(stored.statusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(REPLAYED_HEADER, "true")
+                    .body(new ApiResponse(body.path("message").asText(null), body.get("data")));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not valid JSON", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize for idempotency", e);
+        }
+    }
+
+    private record Outcome(StoredResponse stored, ResponseEntity<ApiResponse> response) {
+    }
+
+    /**
+     * The key row could not be inserted because another request holds it;
+     * rolls back this request's transaction
+     */
+    private static final class KeyClaimedException extends RuntimeException {
+        KeyClaimedException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private record StoredResponse(String requestHash, int statusCode, String body, long expiresAtMillis) {
+
+        static StoredResponse of(IdempotencyRecord record) {
+            return new StoredResponse(record.getRequestHash(), record.getStatusCode(), record.getResponseBody(),
+                    record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.taskapi.service.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the search index
+ *
+ * Stores the postings of every task with its version, so a restart loads
+ * the index without re-reading task text; the versions let the loader
+ * find tasks that changed while the application was down. Written to a
+ * temporary file and moved into place, so a crash never leaves a torn file.
+ */
+final class SearchIndexSnapshot {
+
+    private static final int MAGIC = 0x54534958; // "TSIX"
+    private static final int FORMAT_VERSION = 1;
+
+    private SearchIndexSnapshot() {
+    }
+
+    static void write(Path path, Map<Long, UserTaskIndex> indexes) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(indexes.size());
+            for (Map.Entry<Long, UserTaskIndex> user : indexes.entrySet()) {
+                Map<Long, UserTaskIndex.Document> documents = user.getValue().documents();
+                out.writeLong(user.getKey());
+                out.writeInt(documents.size());
+                for (Map.Entry<Long, UserTaskIndex.Document> document : documents.entrySet()) {
+                    out.writeLong(document.getKey());
+                    out.writeLong(document.getValue().version());
+                    out.writeInt(document.getValue().terms().size());
+                    for (Map.Entry<String, UserTaskIndex.Posting> term : document.getValue().terms().entrySet()) {
+                        out.writeUTF(term.getKey());
+                        out.writeInt(term.getValue().titleFrequency());
+                        out.writeInt(term.getValue().descriptionFrequency());
+                    }
+                }
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @throws IOException if the file is unreadable or not a snapshot of this format
+     */
+    static Map<Long, UserTaskIndex> read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a search index snapshot: " + path);
+            }
+            int users = in.readInt();
+            Map<Long, UserTaskIndex> indexes = new HashMap<>(users * 2);
+            for (int u = 0; u < users; u++) {
+                long userId = in.readLong();
+                int documents = in.readInt();
+                UserTaskIndex index = new UserTaskIndex();
+                for (int d = 0; d < documents; d++) {
+                    long taskId = in.readLong();
+                    long version = in.readLong();
+                    int termCount = in.readInt();
+                    Map<String, UserTaskIndex.Posting> terms = new HashMap<>(termCount * 2);
+                    for (int t = 0; t < termCount; t++) {
+                        terms.put(in.readUTF(), new UserTaskIndex.Posting(in.readInt(), in.readInt()));
+                    }
+                    index.put(taskId, version, terms);
+                }
+                indexes.put(userId, index);
+            }
+            return indexes;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.taskapi.service.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits text into lower-case terms of letters and digits
+ *
+ * Used for both indexed text and queries so they always agree.
+ */
+final class SearchTokenizer {
+
+    // Longer words are cut; a prefix of that length still finds them
+    static final int MAX_TERM_LENGTH = 32;
+
+    private SearchTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(lower.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Term frequencies of a task, counted separately for title and description
+     */
+    static Map<String, UserTaskIndex.Posting> postings(String title, String description) {
+        Map<String, int[]> counts = new HashMap<>();
+        for (String term : tokenize(title)) {
+            counts.computeIfAbsent(term, t -> new int[2])[0]++;
+        }
+        for (String term : tokenize(description)) {
+            counts.computeIfAbsent(term, t -> new int[2])[1]++;
+        }
+        Map<String, UserTaskIndex.Posting> postings = new HashMap<>(counts.size());
+        counts.forEach((term, c) -> postings.put(term, new UserTaskIndex.Posting(c[0], c[1])));
+        return postings;
+    }
+}
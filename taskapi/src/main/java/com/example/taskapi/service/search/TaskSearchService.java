@@ -0,0 +1,12 @@
+package com.example.taskapi.service.search;
+
+import com.example.taskapi.entity.Task;
+
+import java.util.List;
+
+public interface TaskSearchService {
+    List<Long> search(Long userId, String query, int limit);
+    void indexAfterCommit(Task task);
+    void indexAllAfterCommit(List<Task> tasks);
+    void removeAfterCommit(Long userId, Long taskId);
+}
@@ -0,0 +1,272 @@
+package com.example.taskapi.service.search;
+
+import com.example.taskapi.dto.TaskSearchRow;
+import com.example.taskapi.dto.TaskVersionRow;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory full-text index over task titles and descriptions
+ *
+ * One inverted index per user, so a search only touches the caller's own
+ * terms and never scans the tasks table. The index follows committed
+ * creates, updates and deletes from TaskServiceImpl. It is built before
+ * the web server starts: from the snapshot file when there is one (checked
+ * against task versions in the table), otherwise from the table. Snapshots
+ * are written periodically when the index changed, and on shutdown.
+ *
+ * Changes committed by other replicas never reach this node's listeners, so
+ * the same version check runs periodically and picks them up within
+ * app.search.reconcile-interval-ms. Each run reads the id and version of
+ * every live task and holds all live ids in memory while it runs, so the
+ * interval defaults to 15 minutes rather than following the snapshot cadence.
+ */
+@Service
+@Slf4j
+public class TaskSearchServiceImpl implements TaskSearchService, SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final TaskRepository taskRepository;
+    private final Map<Long, UserTaskIndex> indexes = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // Tasks indexed by local commits while a reconcile runs; its scan may have missed them
+    private volatile Set<Long> indexedDuringReconcile;
+
+    @Value("${app.search.snapshot-file:}")
+    private String snapshotFile;
+
+    public TaskSearchServiceImpl(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public List<Long> search(Long userId, String query, int limit) {
+        UserTaskIndex index = indexes.get(userId);
+        if (index == null) {
+            return List.of();
+        }
+        List<String> terms = SearchTokenizer.tokenize(query).stream().distinct().toList();
+        return terms.isEmpty() ? List.of() : index.search(terms, limit);
+    }
+
+    @Override
+    public void indexAfterCommit(Task task) {
+        afterCommit(() -> index(task.getAppUser().getId(), task.getId(), task.getVersion(),
+                task.getTitle(), task.getDescription()));
+    }
+
+    @Override
+    public void indexAllAfterCommit(List<Task> tasks) {
+        afterCommit(() -> tasks.forEach(task -> index(task.getAppUser().getId(), task.getId(), task.getVersion(),
+                task.getTitle(), task.getDescription())));
+    }
+
+    @Override
+    public void removeAfterCommit(Long userId, Long taskId) {
+        afterCommit(() -> {
+            UserTaskIndex index = indexes.get(userId);
+            if (index != null) {
+                index.remove(taskId);
+                dirty.set(true);
+            }
+        });
+    }
+
+    // ------------------- Startup -------------------
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        Path snapshot = snapshotPath();
+        if (snapshot != null && Files.exists(snapshot) && loadSnapshot(snapshot)) {
+            reconcile();
+        } else {
+            indexAll();
+        }
+        log.info("Search index ready for {} users in {} ms", indexes.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private boolean loadSnapshot(Path snapshot) {
+        try {
+            indexes.putAll(SearchIndexSnapshot.read(snapshot));
+            log.info("Loaded search index snapshot {}", snapshot);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable search index snapshot {}, rebuilding from the table: {}",
+                    snapshot, e.getMessage());
+            indexes.clear();
+            return false;
+        }
+    }
+
+    private void indexAll() {
+        long afterId = 0;
+        List<TaskSearchRow> rows;
+        do {
+            rows = taskRepository.findSearchRowsAfter(afterId, PageRequest.ofSize(BATCH_SIZE));
+            rows.forEach(this::index);
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).id();
+            }
+        } while (rows.size() == BATCH_SIZE);
+    }
+
+    // ------------------- Reconcile -------------------
+
+    /**
+     * Pick up tasks changed or removed by other replicas
+     */
+    @Scheduled(fixedDelayString = "${app.search.reconcile-interval-ms:900000}",
+            initialDelayString = "${app.search.reconcile-interval-ms:900000}")
+    public void reconcilePeriodically() {
+        long start = System.nanoTime();
+        reconcile();
+        log.debug("Search index reconciled in {} ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Bring the index up to date with the table: re-index tasks whose
+     * version differs and drop tasks that no longer exist. Only ids and
+     * versions are read for unchanged tasks.
+     */
+    private void reconcile() {
+        indexedDuringReconcile = ConcurrentHashMap.newKeySet();
+        try {
+            reconcileWithTable();
+        } finally {
+            indexedDuringReconcile = null;
+        }
+    }
+
+    private void reconcileWithTable() {
+        Set<Long> existing = new HashSet<>();
+        List<Long> stale = new ArrayList<>();
+        long afterId = 0;
+        List<TaskVersionRow> rows;
+        do {
+            rows = taskRepository.findVersionRowsAfter(afterId, PageRequest.ofSize(BATCH_SIZE));
+            for (TaskVersionRow row : rows) {
+                existing.add(row.id());
+                UserTaskIndex index = indexes.get(row.userId());
+                if (index == null || !Objects.equals(index.version(row.id()), row.version())) {
+                    stale.add(row.id());
+                }
+            }
+            if (stale.size() >= BATCH_SIZE) {
+                reindex(stale);
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).id();
+            }
+        } while (rows.size() == BATCH_SIZE);
+        reindex(stale);
+
+        existing.addAll(indexedDuringReconcile);
+        boolean removed = false;
+        for (UserTaskIndex index : indexes.values()) {
+            removed |= index.retainAll(existing);
+        }
+        indexes.values().removeIf(UserTaskIndex::isEmpty);
+        if (removed) {
+            dirty.set(true);
+        }
+    }
+
+    private void reindex(List<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            taskRepository.findSearchRowsByIdIn(taskIds).forEach(this::index);
+            taskIds.clear();
+        }
+    }
+
+    // ------------------- Snapshots -------------------
+
+    @Scheduled(fixedDelayString = "${app.search.snapshot-interval-ms:300000}")
+    public void writeSnapshotIfChanged() {
+        if (dirty.getAndSet(false)) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void writeSnapshotOnShutdown() {
+        writeSnapshotIfChanged();
+    }
+
+    private void writeSnapshot() {
+        Path snapshot = snapshotPath();
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            SearchIndexSnapshot.write(snapshot, indexes);
+            log.debug("Wrote search index snapshot {}", snapshot);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not write search index snapshot {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    // ------------------- Helpers -------------------
+
+    private void index(TaskSearchRow row) {
+        index(row.userId(), row.id(), row.version(), row.title(), row.description());
+    }
+
+    private void index(Long userId, Long taskId, Long version, String title, String description) {
+        indexes.computeIfAbsent(userId, id -> new UserTaskIndex())
+                .put(taskId, version == null ? 0 : version, SearchTokenizer.postings(title, description));
+        Set<Long> reconciling = indexedDuringReconcile;
+        if (reconciling != null) {
+            reconciling.add(taskId);
+        }
+        dirty.set(true);
+    }
+
+    private Path snapshotPath() {
+        return snapshotFile == null || snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+    }
+
+    /**
+     * Run once the surrounding transaction has committed, so rolled back
+     * changes never reach the index
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.taskapi.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Inverted index over the tasks of one user
+ *
+ * Terms are kept sorted, so a prefix is a range scan of the term map.
+ * Writes are serialized per user; searches read the concurrent maps
+ * without locking and may briefly see a task half re-indexed.
+ */
+final class UserTaskIndex {
+
+    // A title hit counts as much as this many description hits
+    private static final int TITLE_WEIGHT = 3;
+    // Prefix hits rank below whole-word hits of the same term
+    private static final double PREFIX_FACTOR = 0.5;
+    // Short prefixes stop expanding after this many terms
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ConcurrentSkipListMap<String, Map<Long, Posting>> postings = new ConcurrentSkipListMap<>();
+    // Terms per task, needed to take a task out of the index again
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    record Posting(int titleFrequency, int descriptionFrequency) {
+        int weight() {
+            return TITLE_WEIGHT * titleFrequency + descriptionFrequency;
+        }
+    }
+
+    record Document(long version, Map<String, Posting> terms) {
+    }
+
+    synchronized void put(long taskId, long version, Map<String, Posting> terms) {
+        remove(taskId);
+        documents.put(taskId, new Document(version, Map.copyOf(terms)));
+        terms.forEach((term, posting) ->
+                postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(taskId, posting));
+    }
+
+    synchronized void remove(long taskId) {
+        Document document = documents.remove(taskId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms().keySet()) {
+            postings.computeIfPresent(term, (t, tasks) -> {
+                tasks.remove(taskId);
+                return tasks.isEmpty() ? null : tasks;
+            });
+        }
+    }
+
+    /**
+     * Drop every task whose id is not in the given set
+     *
+     * @return true if any task was removed
+     */
+    synchronized boolean retainAll(Set<Long> taskIds) {
+        boolean removed = false;
+        for (Long taskId : new ArrayList<>(documents.keySet())) {
+            if (!taskIds.contains(taskId)) {
+                remove(taskId);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    Long version(long taskId) {
+        Document document = documents.get(taskId);
+        return document == null ? null : document.version();
+    }
+
+    boolean isEmpty() {
+        return documents.isEmpty();
+    }
+
+    /**
+     * Consistent copy of the indexed tasks, for snapshots
+     */
+    synchronized Map<Long, Document> documents() {
+        return new HashMap<>(documents);
+    }
+
+    /**
+     * Ids of the tasks matching every query term as a word or word prefix,
+     * best first. Each term scores its frequency-weighted hits times its
+     * inverse document frequency.
+     */
+    List<Long> search(List<String> queryTerms, int limit) {
+        int documentCount = documents.size();
+        Map<Long, Double> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Double> termScores = new HashMap<>();
+            int expansions = 0;
+            for (Map.Entry<String, Map<Long, Posting>> entry
+                    : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                Map<Long, Posting> tasks = entry.getValue();
+                double idf = Math.log(1.0 + (double) documentCount / tasks.size());
+                double factor = entry.getKey().length() == queryTerm.length() ? 1.0 : PREFIX_FACTOR;
+                for (Map.Entry<Long, Posting> hit : tasks.entrySet()) {
+                    termScores.merge(hit.getKey(), hit.getValue().weight() * idf * factor, Math::max);
+                }
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((taskId, score) -> score + termScores.get(taskId));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.taskapi.service.task;
+
+public interface TaskArchiveService {
+    int moveToArchive();
+}
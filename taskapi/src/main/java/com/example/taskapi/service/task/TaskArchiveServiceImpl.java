@@ -0,0 +1,129 @@
+package com.example.taskapi.service.task;
+
+import com.example.taskapi.dto.TaskArchiveRow;
+import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.service.search.TaskSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves cold tasks out of the tasks table into tasks_archive
+ *
+ * Candidates are tasks deleted (archived) more than archived-retention-hours
+ * ago and, when done-retention-days is above 0, live tasks DONE for longer
+ * than that. Nothing reads tasks_archive, so moving live DONE tasks takes
+ * them out of the API; that tier is off by default. Each chunk is
+ * its own short transaction: lock the chunk's rows, copy them with one
+ * INSERT ... SELECT, delete them, adjust the owners' counters. A run stops
+ * after max-chunks chunks so it never holds the table for long; the next
+ * run continues. Keeping tasks small keeps its indexes in memory.
+ */
+@Service
+@Slf4j
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    private final TaskRepository taskRepository;
+    private final TaskCounterService taskCounterService;
+    private final TaskSearchService taskSearchService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.tasks.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.tasks.archive.max-chunks:100}")
+    private int maxChunks;
+
+    @Value("${app.tasks.archive.archived-retention-hours:24}")
+    private long archivedRetentionHours;
+
+    // 0 keeps DONE tasks in the tasks table
+    @Value("${app.tasks.archive.done-retention-days:0}")
+    private long doneRetentionDays;
+
+    public TaskArchiveServiceImpl(TaskRepository taskRepository, TaskCounterService taskCounterService,
+                                  TaskSearchService taskSearchService, TransactionTemplate transactionTemplate) {
+        this.taskRepository = taskRepository;
+        this.taskCounterService = taskCounterService;
+        this.taskSearchService = taskSearchService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @return number of tasks moved in this run
+     */
+    @Override
+    @Scheduled(initialDelayString = "${app.tasks.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${app.tasks.archive.interval-ms:300000}")
+    public int moveToArchive() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime archivedBefore = now.minusHours(archivedRetentionHours);
+        LocalDateTime doneBefore = now.minusDays(doneRetentionDays);
+
+        int moved = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            Integer count;
+            try {
+                count = transactionTemplate.execute(status -> moveChunk(archivedBefore, doneBefore));
+            } catch (DataAccessException | TransactionException e) {
+                // e.g. a lock timeout against a user's write; the next run retries
+                log.warn("Moving tasks to the archive failed after {} tasks: {}", moved, e.getMessage());
+                break;
+            }
+            if (count == null || count == 0) {
+                break;
+            }
+            moved += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+
+        if (moved > 0) {
+            log.info("Moved {} tasks to the archive", moved);
+        }
+        return moved;
+    }
+
+    // ------------------- Helpers -------------------
+
+    private int moveChunk(LocalDateTime archivedBefore, LocalDateTime doneBefore) {
+        List<TaskArchiveRow> rows = new ArrayList<>(
+                taskRepository.findArchivedCandidates(archivedBefore, PageRequest.ofSize(chunkSize)));
+        // Fill the rest of the chunk with DONE tasks, each query on its own index
+        if (doneRetentionDays > 0 && rows.size() < chunkSize) {
+            rows.addAll(taskRepository.findDoneCandidates(TaskStatus.DONE, doneBefore,
+                    PageRequest.ofSize(chunkSize - rows.size())));
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int moved = taskRepository.moveToArchive(rows.stream().map(TaskArchiveRow::id).toList());
+
+        Map<Long, List<TaskArchiveRow>> byUser = rows.stream()
+                .collect(Collectors.groupingBy(TaskArchiveRow::userId));
+        byUser.forEach((userId, tasks) -> {
+            long archived = tasks.stream().filter(t -> Boolean.TRUE.equals(t.archived())).count();
+            long done = tasks.stream()
+                    .filter(t -> !Boolean.TRUE.equals(t.archived()) && t.status() == TaskStatus.DONE).count();
+            taskCounterService.tasksMovedToArchive(userId, tasks.size() - archived - done, done, archived);
+            // Archived tasks already left the index when they were deleted
+            tasks.stream()
+                    .filter(t -> !Boolean.TRUE.equals(t.archived()))
+                    .forEach(t -> taskSearchService.removeAfterCommit(userId, t.id()));
+        });
+        return moved;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskapi.service.task;
+
+import com.example.taskapi.dto.TaskStateRow;
+import com.example.taskapi.dto.TaskSummaryDto;
+import com.example.taskapi.entity.appenum.TaskStatus;
+
+import java.util.List;
+
+public interface TaskCounterService {
+    void createCounters(Long userId);
+    void taskCreated(Long userId, TaskStatus status);
+    void tasksCreated(Long userId, long open, long done);
+    void statusChanged(Long userId, boolean archived, TaskStatus from, TaskStatus to);
+    void statusesChanged(Long userId, List<TaskStateRow> changed, TaskStatus to);
+    void taskArchived(Long userId, TaskStatus status);
+    void tasksMovedToArchive(Long userId, long open, long done, long archived);
+    void touch(Long userId);
+    TaskSummaryDto getSummary(Long userId);
+    Long getChangeStamp(Long userId);
+    int reconcile();
+}
@@ -0,0 +1,246 @@
+package com.example.taskapi.service.task;
+
+import com.example.taskapi.dto.TaskCountRow;
+import com.example.taskapi.dto.TaskStateRow;
+import com.example.taskapi.dto.TaskSummaryDto;
+import com.example.taskapi.entity.TaskCounter;
+import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.repository.TaskCounterRepository;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user open/done/archived counters
+ *
+ * Task changes apply deltas to the user's counter row in the caller's
+ * transaction, so a summary is a primary key read however many tasks a
+ * user has. Counter rows are created at registration; users without one
+ * (created before the counters existed) are counted from the tasks table
+ * until the reconciliation job has created their row.
+ *
+ * Every change also bumps the row's change stamp, which lets list reads
+ * answer conditional requests from this table alone.
+ */
+@Service
+@Slf4j
+public class TaskCounterServiceImpl implements TaskCounterService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskCounterServiceImpl(TaskCounterRepository taskCounterRepository, TaskRepository taskRepository,
+                                  UserRepository userRepository, TransactionTemplate transactionTemplate) {
+        this.taskCounterRepository = taskCounterRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void createCounters(Long userId) {
+        taskCounterRepository.save(new TaskCounter(userId));
+    }
+
+    @Override
+    @Transactional
+    public void taskCreated(Long userId, TaskStatus status) {
+        apply(userId, Delta.of(status, false, 1));
+    }
+
+    /**
+     * One counter update for a whole batch of new tasks
+     */
+    @Override
+    @Transactional
+    public void tasksCreated(Long userId, long open, long done) {
+        apply(userId, new Delta(open, done, 0));
+    }
+
+    @Override
+    @Transactional
+    public void statusChanged(Long userId, boolean archived, TaskStatus from, TaskStatus to) {
+        if (from != to) {
+            apply(userId, Delta.of(from, archived, -1).plus(Delta.of(to, archived, 1)));
+        }
+    }
+
+    /**
+     * One counter update for a bulk status change, from the tasks' previous states
+     */
+    @Override
+    @Transactional
+    public void statusesChanged(Long userId, List<TaskStateRow> changed, TaskStatus to) {
+        Delta delta = Delta.ZERO;
+        for (TaskStateRow row : changed) {
+            boolean archived = Boolean.TRUE.equals(row.archived());
+            delta = delta.plus(Delta.of(row.status(), archived, -1)).plus(Delta.of(to, archived, 1));
+        }
+        apply(userId, delta);
+    }
+
+    @Override
+    @Transactional
+    public void taskArchived(Long userId, TaskStatus status) {
+        apply(userId, Delta.of(status, false, -1).plus(Delta.of(status, true, 1)));
+    }
+
+    /**
+     * Tasks left the tasks table for tasks_archive; counters only cover the tasks table
+     */
+    @Override
+    @Transactional
+    public void tasksMovedToArchive(Long userId, long open, long done, long archived) {
+        apply(userId, new Delta(-open, -done, -archived));
+    }
+
+    @Override
+    @Transactional
+    public void touch(Long userId) {
+        taskCounterRepository.incrementChangeStamp(userId);
+    }
+
+    /**
+     * @return the user's change stamp, or null while the user has no counter row
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Long getChangeStamp(Long userId) {
+        return taskCounterRepository.findChangeStampByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSummaryDto getSummary(Long userId) {
+        return taskCounterRepository.findById(userId)
+                .map(c -> TaskSummaryDto.of(c.getOpenCount(), c.getDoneCount(), c.getArchivedCount()))
+                .orElseGet(() -> {
+                    Delta counted = countFromTasks(List.of(userId)).getOrDefault(userId, Delta.ZERO);
+                    return TaskSummaryDto.of(counted.open(), counted.done(), counted.archived());
+                });
+    }
+
+    /**
+     * Recount every user's tasks and repair counters that drifted
+     *
+     * Works through users in batches; each batch locks its counter rows
+     * before counting, so concurrent deltas wait for the repaired values
+     * instead of being overwritten by them.
+     *
+     * @return number of counter rows created or repaired
+     */
+    @Override
+    @Scheduled(initialDelayString = "${app.task-counters.reconcile-initial-delay-ms:30000}",
+            fixedDelayString = "${app.task-counters.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        int repaired = 0;
+        long afterId = 0;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, PageRequest.ofSize(BATCH_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Long> batch = userIds;
+            try {
+                Integer fixed = transactionTemplate.execute(status -> reconcileBatch(batch));
+                repaired += fixed == null ? 0 : fixed;
+            } catch (DataAccessException | TransactionException e) {
+                // e.g. a registration created a counter row at the same time; the next run covers the batch
+                log.warn("Task counter reconciliation failed for users {}..{}: {}",
+                        batch.get(0), batch.get(batch.size() - 1), e.getMessage());
+            }
+            afterId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == BATCH_SIZE);
+
+        if (repaired > 0) {
+            log.info("Task counter reconciliation repaired {} counters", repaired);
+        }
+        return repaired;
+    }
+
+    // ------------------- Helpers -------------------
+
+    private int reconcileBatch(List<Long> userIds) {
+        Map<Long, TaskCounter> counters = taskCounterRepository.findAllForUpdate(userIds).stream()
+                .collect(Collectors.toMap(TaskCounter::getUserId, Function.identity()));
+        Map<Long, Delta> actual = countFromTasks(userIds);
+
+        int repaired = 0;
+        for (Long userId : userIds) {
+            Delta expected = actual.getOrDefault(userId, Delta.ZERO);
+            TaskCounter counter = counters.get(userId);
+            if (counter == null) {
+                counter = new TaskCounter(userId);
+            } else if (counter.getOpenCount() == expected.open()
+                    && counter.getDoneCount() == expected.done()
+                    && counter.getArchivedCount() == expected.archived()) {
+                continue;
+            } else {
+                log.warn("Task counters of user {} drifted: open {}/{}, done {}/{}, archived {}/{}", userId,
+                        counter.getOpenCount(), expected.open(), counter.getDoneCount(), expected.done(),
+                        counter.getArchivedCount(), expected.archived());
+            }
+            counter.setOpenCount(expected.open());
+            counter.setDoneCount(expected.done());
+            counter.setArchivedCount(expected.archived());
+            taskCounterRepository.save(counter);
+            repaired++;
+        }
+        return repaired;
+    }
+
+    private Map<Long, Delta> countFromTasks(List<Long> userIds) {
+        Map<Long, Delta> counts = new HashMap<>();
+        for (TaskCountRow row : taskRepository.countGroupedByUserIds(userIds)) {
+            counts.merge(row.userId(), Delta.of(row.status(), Boolean.TRUE.equals(row.archived()), row.count()),
+                    Delta::plus);
+        }
+        return counts;
+    }
+
+    private void apply(Long userId, Delta delta) {
+        if (delta.equals(Delta.ZERO)) {
+            // Counts unchanged (e.g. an archived task changed status), the list still did
+            taskCounterRepository.incrementChangeStamp(userId);
+            return;
+        }
+        if (taskCounterRepository.applyDelta(userId, delta.open(), delta.done(), delta.archived()) == 0) {
+            log.debug("No task counter row for user {} yet, reconciliation will create it", userId);
+        }
+    }
+
+    private record Delta(long open, long done, long archived) {
+
+        static final Delta ZERO = new Delta(0, 0, 0);
+
+        static Delta of(TaskStatus status, boolean archived, long amount) {
+            if (archived) {
+                return new Delta(0, 0, amount);
+            }
+            return status == TaskStatus.DONE ? new Delta(0, amount, 0) : new Delta(amount, 0, 0);
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(open + other.open, done + other.done, archived + other.archived);
+        }
+    }
+}
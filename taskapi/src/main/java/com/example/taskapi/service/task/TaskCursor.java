@@ -0,0 +1,62 @@
+package com.example.taskapi.service.task;
+
+import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.exception.InvalidInputException;
+import com.example.taskapi.repository.TaskSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a keyset-paginated task listing
+ *
+ * Encodes the sort key and direction, whether the page runs backwards from
+ * the position (prev) or forwards (next), and the (value, id) of the row at
+ * the page boundary. Clients only ever pass it back unchanged.
+ */
+record TaskCursor(TaskSortField sortField, boolean ascending, boolean backward, String value, Long id) {
+
+    private static final String VERSION = "v1";
+
+    static TaskCursor start(TaskSortField sortField, boolean ascending) {
+        return new TaskCursor(sortField, ascending, false, null, null);
+    }
+
+    boolean hasPosition() {
+        return id != null;
+    }
+
+    TaskCursor after(TaskDto task) {
+        return new TaskCursor(sortField, ascending, false, sortField.valueOf(task), task.getId());
+    }
+
+    TaskCursor before(TaskDto task) {
+        return new TaskCursor(sortField, ascending, true, sortField.valueOf(task), task.getId());
+    }
+
+    String encode() {
+        // Value goes last because titles may contain the separator
+        String raw = String.join("|", VERSION, sortField.property(), ascending ? "a" : "d",
+                backward ? "p" : "n", String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 6);
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                throw new InvalidInputException("Invalid cursor");
+            }
+            TaskSortField sortField = TaskSortField.fromProperty(parts[1]);
+            TaskCursor decoded = new TaskCursor(sortField, "a".equals(parts[2]), "p".equals(parts[3]),
+                    parts[5], Long.valueOf(parts[4]));
+            // Fail here rather than in the query if the value does not fit the key
+            sortField.parse(decoded.value());
+            return decoded;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidInputException("Invalid cursor");
+        }
+    }
+}
@@ -1,16 +1,40 @@
 package com.example.taskapi.service.task;
 
+import com.example.taskapi.dto.CursorPageDto;
+import com.example.taskapi.dto.TaskBatchResultDto;
 import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.dto.TaskStatusUpdateResultDto;
+import com.example.taskapi.dto.TaskSummaryDto;
 import com.example.taskapi.entity.Task;
 import com.example.taskapi.request.TaskCreateRequest;
+import com.example.taskapi.request.TaskFilter;
+import com.example.taskapi.request.TaskStatusUpdateRequest;
 import com.example.taskapi.request.TaskUpdateRequest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public interface TaskService {
     TaskDto createTask(TaskCreateRequest  taskCreateRequest);
+    TaskBatchResultDto createTasks(List<TaskCreateRequest> taskCreateRequests);
     TaskDto updateTask(TaskUpdateRequest taskUpdateRequest, Long taskId);
+    TaskDto updateTask(TaskUpdateRequest taskUpdateRequest, Long taskId, Long expectedVersion);
+    TaskStatusUpdateResultDto updateTaskStatuses(TaskStatusUpdateRequest taskStatusUpdateRequest);
     Page<TaskDto> getAllTasksForUser(int page, int size, String sortBy,String sortDir);
+    Page<TaskDto> getAllTasksForUser(int page, int size, String sortBy, String sortDir, TaskFilter filter);
+    Slice<TaskDto> getTaskSliceForUser(int page, int size, String sortBy, String sortDir);
+    Slice<TaskDto> getTaskSliceForUser(int page, int size, String sortBy, String sortDir, TaskFilter filter);
+    long countTasksForUser();
+    TaskSummaryDto getTaskSummary();
+    CursorPageDto<TaskDto> getTasksByCursor(String cursor, int size, String sortBy, String sortDir);
+    CursorPageDto<TaskDto> getTasksByCursor(String cursor, int size, String sortBy, String sortDir, TaskFilter filter);
+    TaskDto getTask(Long taskId);
+    Long getTaskVersion(Long taskId);
+    String getTaskListVersion();
+    List<TaskDto> searchTasks(String query, int limit);
     void deleteTask(Long taskId);
+    void deleteTask(Long taskId, Long expectedVersion);
 }
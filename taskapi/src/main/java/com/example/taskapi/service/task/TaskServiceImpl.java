@@ -1,40 +1,85 @@
 package com.example.taskapi.service.task;
 
+import com.example.taskapi.dto.CursorPageDto;
+import com.example.taskapi.dto.TaskBatchItemDto;
+import com.example.taskapi.dto.TaskBatchResultDto;
 import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.dto.TaskStateRow;
+import com.example.taskapi.dto.TaskStatusUpdateResultDto;
+import com.example.taskapi.dto.TaskSummaryDto;
 import com.example.taskapi.entity.Task;
 import com.example.taskapi.entity.appenum.TaskStatus;
 import com.example.taskapi.entity.user.AppUser;
 import com.example.taskapi.exception.InvalidInputException;
+import com.example.taskapi.exception.TaskConflictException;
 import com.example.taskapi.exception.TaskNotFoundException;
 import com.example.taskapi.factory.TaskFactory;
 import com.example.taskapi.mapper.TaskMapper;
 import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.repository.TaskSortField;
 import com.example.taskapi.repository.UserRepository;
 import com.example.taskapi.request.TaskCreateRequest;
+import com.example.taskapi.request.TaskFilter;
+import com.example.taskapi.request.TaskStatusUpdateRequest;
 import com.example.taskapi.request.TaskUpdateRequest;
+import com.example.taskapi.service.search.TaskSearchService;
 import com.example.taskapi.validation.TaskValidation;
 import com.example.taskapi.security.CustomUserDetails;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Slf4j
 public class TaskServiceImpl implements TaskService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    // Flush and detach in chunks so a large batch does not pile up in the persistence context
+    private static final int BATCH_FLUSH_SIZE = 1_000;
+
     private final TaskRepository taskRepository;
     private final TaskFactory taskFactory;
     private final TaskValidation taskValidation;
     private final TaskMapper taskMapper;
     private final UserRepository userRepository;
+    private final TaskSearchService taskSearchService;
+    private final TaskCounterService taskCounterService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.tasks.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    @Value("${app.tasks.bulk-status.chunk-size:500}")
+    private int statusChunkSize;
+
+    @Value("${app.tasks.bulk-status.max-tasks:10000}")
+    private int maxStatusTasks;
 
     @Override
     @Transactional
@@ -47,74 +92,465 @@ public class TaskServiceImpl implements TaskService {
         task.setAppUser(currentUser);
 
         Task saved = taskRepository.save(task);
+        taskCounterService.taskCreated(currentUser.getId(), saved.getStatus());
+        taskSearchService.indexAfterCommit(saved);
         log.info("Task created with ID {}", saved.getId());
         return taskMapper.toDto(saved);
     }
 
+    /**
+     * Create many tasks in one transaction
+     *
+     * Every item is validated first; invalid items are reported with their
+     * errors and skipped, the rest are inserted together. Pooled sequence
+     * ids let Hibernate send the inserts as JDBC batches.
+     */
+    @Override
+    @Transactional
+    public TaskBatchResultDto createTasks(List<TaskCreateRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new InvalidInputException("A batch must contain 1 to " + maxBatchSize + " tasks");
+        }
+        log.info("Creating batch of {} tasks", requests.size());
+
+        AppUser currentUser = userRepository.getReferenceById(getCurrentUser().getId());
+        TaskBatchItemDto[] items = new TaskBatchItemDto[requests.size()];
+        List<Task> tasks = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validateForBatch(requests.get(i));
+            if (errors.isEmpty()) {
+                Task task = taskFactory.createTask(requests.get(i));
+                task.setAppUser(currentUser);
+                tasks.add(task);
+                positions.add(i);
+            } else {
+                items[i] = TaskBatchItemDto.rejected(i, errors);
+            }
+        }
+
+        long open = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            entityManager.persist(task);
+            if (task.getStatus() == TaskStatus.OPEN) {
+                open++;
+            }
+            if ((i + 1) % BATCH_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            items[positions.get(i)] = TaskBatchItemDto.created(positions.get(i), taskMapper.toDto(tasks.get(i)));
+        }
+        if (!tasks.isEmpty()) {
+            taskCounterService.tasksCreated(currentUser.getId(), open, tasks.size() - open);
+            taskSearchService.indexAllAfterCommit(tasks);
+        }
+
+        log.info("Batch created {} tasks, rejected {}", tasks.size(), requests.size() - tasks.size());
+        return new TaskBatchResultDto(tasks.size(), requests.size() - tasks.size(), List.of(items));
+    }
+
     @Override
     @Transactional
     public TaskDto updateTask(TaskUpdateRequest request, Long taskId) {
-        log.info("Updating task {} with data {}", taskId, request);
+        return updateTask(request, taskId, null);
+    }
 
-        Task existing = taskRepository.findById(taskId)
-                .orElseThrow(TaskNotFoundException::new);
+    /**
+     * Change a task's status with one conditional statement
+     *
+     * The task is read by primary key (usually from the second-level cache)
+     * for its previous state, then written with UPDATE ... WHERE id = ? AND
+     * user_id = ? AND version = ?. A matching version guarantees the row
+     * still holds the state that was read, so counters stay exact without
+     * locking. When no row matches, the cause is looked up: not found,
+     * another user's task, or a conflicting change.
+     *
+     * @param expectedVersion version the client last saw (If-Match), or null
+     */
+    @Override
+    @Transactional
+    public TaskDto updateTask(TaskUpdateRequest request, Long taskId, Long expectedVersion) {
+        log.info("Updating task {} with data {}", taskId, request);
+        TaskStatus status = parseStatus(request.status());
 
-        CustomUserDetails userDetails = getCurrentUser();
+        Long userId = getCurrentUser().getId();
+        Task task = findOwnTask(taskId);
+        long version = requireVersion(task, expectedVersion);
 
-        if (!existing.getAppUser().getId().equals(userDetails.getId())) {
-            throw new AccessDeniedException("Cannot update another user’s task");
+        TaskStatus previousStatus = task.getStatus();
+        if (previousStatus == status) {
+            return taskMapper.toDto(task);
         }
+        if (taskRepository.updateStatusIfCurrent(taskId, userId, version, status) == 0) {
+            throw noRowMatched(taskId, userId);
+        }
+
+        // The statement bypassed the persistence context; keep the read copy out of it
+        entityManager.detach(task);
+        task.setStatus(status);
+        task.setVersion(version + 1);
 
-        if(request.status().equalsIgnoreCase("open"))
-        {
-            taskRepository.updateTaskStatusById(taskId, TaskStatus.OPEN);
-            existing.setStatus(TaskStatus.OPEN);
+        taskCounterService.statusChanged(userId, false, previousStatus, status);
+        taskSearchService.indexAfterCommit(task);
+        log.info("Task {} updated", taskId);
+        return taskMapper.toDto(task);
+    }
+
+    /**
+     * Move many of the current user's tasks to one status
+     *
+     * Tasks are given by id or by a filter. They are changed in chunks, each
+     * in its own transaction: lock the chunk's rows, then one owner-scoped
+     * UPDATE ... WHERE id IN (...) that also bumps the version. Row locks
+     * are held for one chunk only, not for the whole request. Tasks already
+     * in the target status and archived (deleted) tasks are skipped and not
+     * reported.
+     *
+     * A filter may match more than max-tasks tasks; the result is then
+     * truncated and repeating the request continues where it stopped.
+     */
+    @Override
+    public TaskStatusUpdateResultDto updateTaskStatuses(TaskStatusUpdateRequest request) {
+        if ((request.ids() == null) == (request.filter() == null)) {
+            throw new InvalidInputException("Give either ids or a filter");
         }
-        else if(request.status().equalsIgnoreCase("done"))
-        {
-            taskRepository.updateTaskStatusById(taskId, TaskStatus.DONE);
-            existing.setStatus(TaskStatus.DONE);
+        Long userId = getCurrentUser().getId();
+        TaskStatus status = request.status();
+        List<Long> updated = new ArrayList<>();
+
+        if (request.ids() != null) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.ids()));
+            if (ids.isEmpty() || ids.size() > maxStatusTasks || ids.contains(null)) {
+                throw new InvalidInputException("ids must contain 1 to " + maxStatusTasks + " task ids");
+            }
+            for (int from = 0; from < ids.size(); from += statusChunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + statusChunkSize, ids.size()));
+                updated.addAll(updateStatusChunk(userId, chunk, status));
+            }
+            log.info("Bulk status change to {} updated {} of {} tasks", status, updated.size(), ids.size());
+            return new TaskStatusUpdateResultDto(status, updated.size(), updated, false);
         }
-        else
-            throw new InvalidInputException("Status Must Be Open Or Done");
 
-        log.info("Task {} updated", existing.getId());
-        return taskMapper.toDto(existing);
+        TaskFilter filter = request.filter();
+        filter.requireIndexed();
+        long afterId = 0;
+        boolean more = true;
+        while (more && updated.size() < maxStatusTasks) {
+            int limit = Math.min(statusChunkSize, maxStatusTasks - updated.size());
+            // Ids are read past the last chunk, so tasks changed meanwhile are not picked up twice
+            List<Long> chunk = taskRepository.findIdsToChangeStatus(userId, filter, status, afterId, limit);
+            more = chunk.size() == limit;
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1);
+                updated.addAll(updateStatusChunk(userId, chunk, status));
+            }
+        }
+        log.info("Bulk status change to {} by filter {} updated {} tasks", status, filter, updated.size());
+        return new TaskStatusUpdateResultDto(status, updated.size(), updated, more);
     }
 
+    /**
+     * Read-only transaction over a DTO projection: no managed entities,
+     * no dirty-checking snapshots and no flush at commit
+     */
     @Override
-    @Transactional()
+    @Transactional(readOnly = true)
     public Page<TaskDto> getAllTasksForUser(int page, int size, String sortBy, String sortDir) {
         log.info("Service Layer in getAllTasksForUser");
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
-        Page<Task> tasks= taskRepository.findByAppUserId(getCurrentUser().getId(),
+        return taskRepository.findDtoPageByUserId(getCurrentUser().getId(),
+                PageRequest.of(page, size, sort));
+    }
+
+    /**
+     * Filtered listing; the filter must map onto one of the owner-scoped indexes
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskDto> getAllTasksForUser(int page, int size, String sortBy, String sortDir, TaskFilter filter) {
+        filter.requireIndexed();
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+        return taskRepository.findFilteredPage(getCurrentUser().getId(), filter,
+                PageRequest.of(page, size, sort));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskDto getTask(Long taskId) {
+        return taskMapper.toDto(findOwnTask(taskId));
+    }
+
+    /**
+     * Version of one of the current user's tasks, for conditional GETs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Long getTaskVersion(Long taskId) {
+        return findOwnTask(taskId).getVersion();
+    }
+
+    /**
+     * Opaque version of the current user's task list, from the counter row
+     * only. It includes the user id, so two users with equal change stamps
+     * never share a version. Null while the user has no counter row.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getTaskListVersion() {
+        Long userId = getCurrentUser().getId();
+        Long stamp = taskCounterService.getChangeStamp(userId);
+        return stamp == null ? null : userId + "-" + stamp;
+    }
+
+    /**
+     * Full-text search through the in-memory index; only the ranked hits
+     * are read from the table, still scoped to the owner
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDto> searchTasks(String query, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidInputException("Search query must be 1 to " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new InvalidInputException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        Long userId = getCurrentUser().getId();
+        List<Long> taskIds = taskSearchService.search(userId, query, limit);
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskDto> tasks = taskRepository.findDtosByIdInAndUserId(taskIds, userId).stream()
+                .collect(Collectors.toMap(TaskDto::getId, Function.identity()));
+        // Keep the index's ranking
+        return taskIds.stream().map(tasks::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Same listing as getAllTasksForUser without the COUNT(*) query
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskDto> getTaskSliceForUser(int page, int size, String sortBy, String sortDir) {
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+        return taskRepository.findDtoSliceByUserId(getCurrentUser().getId(),
+                PageRequest.of(page, size, sort));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskDto> getTaskSliceForUser(int page, int size, String sortBy, String sortDir, TaskFilter filter) {
+        filter.requireIndexed();
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+        return taskRepository.findFilteredSlice(getCurrentUser().getId(), filter,
                 PageRequest.of(page, size, sort));
-        return tasks.map(taskMapper::toDto);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long countTasksForUser() {
+        return taskCounterService.getSummary(getCurrentUser().getId()).total();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSummaryDto getTaskSummary() {
+        return taskCounterService.getSummary(getCurrentUser().getId());
+    }
+
+    /**
+     * Keyset pagination: each page seeks past the boundary row of the previous
+     * one, so the cost does not grow with depth. An empty cursor starts at the
+     * beginning; a non-empty one carries its own sort key and direction.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TaskDto> getTasksByCursor(String cursor, int size, String sortBy, String sortDir) {
+        return getTasksByCursor(cursor, size, sortBy, sortDir, TaskFilter.NONE);
+    }
+
+    /**
+     * Cursors do not carry the filter; clients send the same filter with every page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TaskDto> getTasksByCursor(String cursor, int size, String sortBy, String sortDir,
+                                                   TaskFilter filter) {
+        filter.requireIndexed();
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidInputException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        TaskCursor position = (cursor == null || cursor.isBlank())
+                ? TaskCursor.start(TaskSortField.fromProperty(sortBy), "asc".equalsIgnoreCase(sortDir))
+                : TaskCursor.decode(cursor);
+
+        // A prev page is read in reverse order from the boundary and flipped back
+        boolean queryAscending = position.ascending() != position.backward();
+        List<TaskDto> rows = taskRepository.findSeekPage(getCurrentUser().getId(), filter, position.sortField(),
+                queryAscending,
+                position.hasPosition() ? position.sortField().parse(position.value()) : null,
+                position.id(), size + 1);
+
+        boolean more = rows.size() > size;
+        List<TaskDto> page = new ArrayList<>(more ? rows.subList(0, size) : rows);
+        if (position.backward()) {
+            Collections.reverse(page);
+        }
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!page.isEmpty()) {
+            if (position.backward() || more) {
+                nextCursor = position.after(page.get(page.size() - 1)).encode();
+            }
+            if (position.backward() ? more : position.hasPosition()) {
+                prevCursor = position.before(page.get(0)).encode();
+            }
+        }
+
+        return new CursorPageDto<>(page, page.size(), nextCursor, prevCursor);
     }
 
     @Override
     @Transactional
     public void deleteTask(Long taskId) {
+        deleteTask(taskId, null);
+    }
+
+    /**
+     * Soft delete: one conditional statement sets the archived flag, the
+     * counterpart of updateTask. The task disappears from listings, search
+     * and reads at once; TaskArchiveService moves it to tasks_archive later.
+     */
+    @Override
+    @Transactional
+    public void deleteTask(Long taskId, Long expectedVersion) {
         log.info("Deleting task {}", taskId);
 
-        taskRepository.findById(taskId).ifPresentOrElse(
-                t -> {
-                    requireOwn(t.getAppUser().getId());
-                    taskRepository.delete(t);
-                    log.info("Deleted task {}", taskId);
-                },
-                () -> { throw new TaskNotFoundException(); }
-        );
+        Long userId = getCurrentUser().getId();
+        Task task = findOwnTask(taskId);
+        long version = requireVersion(task, expectedVersion);
+
+        if (taskRepository.archiveIfCurrent(taskId, userId, version) == 0) {
+            throw noRowMatched(taskId, userId);
+        }
+        entityManager.detach(task);
+
+        taskCounterService.taskArchived(userId, task.getStatus());
+        taskSearchService.removeAfterCommit(userId, taskId);
+        log.info("Archived task {}", taskId);
     }
 
     // ------------------- Helpers -------------------
 
+    /**
+     * One transaction: lock the rows that will change, update them with one
+     * statement and apply the counter delta. Ids of other users' tasks and
+     * unknown ids simply match nothing.
+     *
+     * @return ids of the tasks that changed
+     */
+    private List<Long> updateStatusChunk(Long userId, List<Long> ids, TaskStatus status) {
+        return transactionTemplate.execute(tx -> {
+            List<TaskStateRow> rows = taskRepository.findStatesToChange(ids, userId, status);
+            if (rows.isEmpty()) {
+                return List.<Long>of();
+            }
+            List<Long> changed = rows.stream().map(TaskStateRow::id).toList();
+            // Evicts only the changed tasks from the second-level cache
+            int count = taskRepository.updateStatusByIds(changed, userId, status);
+            if (count != changed.size()) {
+                log.warn("Bulk status change to {} updated {} rows, {} were locked", status, count, changed.size());
+            }
+            taskCounterService.statusesChanged(userId, rows, status);
+            return changed;
+        });
+    }
+
     private CustomUserDetails getCurrentUser() {
         return  (CustomUserDetails)
                 SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
 
+    /**
+     * The same checks as a single create: bean constraints, then TaskValidation
+     */
+    private List<String> validateForBatch(TaskCreateRequest request) {
+        if (request == null) {
+            return List.of("Task is required");
+        }
+        Set<ConstraintViolation<TaskCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .toList();
+        }
+        // TaskValidation rejects a null description with a NullPointerException
+        if (request.getDescription() == null) {
+            return List.of("description: Description is required");
+        }
+        try {
+            taskValidation.validateTaskCreateRequest(request);
+            return List.of();
+        } catch (InvalidInputException e) {
+            return List.of(e.getMessage());
+        }
+    }
+
+    /**
+     * Read-through by primary key: served from the second-level cache when
+     * the task is there, then checked against the current user. Archived
+     * tasks count as deleted.
+     */
+    private Task findOwnTask(Long taskId) {
+        Task task = taskRepository.findById(taskId)
+                .filter(t -> !Boolean.TRUE.equals(t.getArchived()))
+                .orElseThrow(TaskNotFoundException::new);
+        requireOwn(task.getAppUser().getId());
+        return task;
+    }
+
+    private static TaskStatus parseStatus(String status) {
+        if ("open".equalsIgnoreCase(status)) {
+            return TaskStatus.OPEN;
+        }
+        if ("done".equalsIgnoreCase(status)) {
+            return TaskStatus.DONE;
+        }
+        throw new InvalidInputException("Status Must Be Open Or Done");
+    }
+
+    /**
+     * @return the version the conditional statement must match
+     */
+    private static long requireVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskConflictException();
+        }
+        return task.getVersion();
+    }
+
+    /**
+     * Explain a conditional statement that matched no row: the task is gone,
+     * belongs to someone else, or changed after it was read. Either way the
+     * cached copy that was read is stale, so it is evicted for the retry.
+     */
+    private RuntimeException noRowMatched(Long taskId, Long userId) {
+        entityManager.getEntityManagerFactory().getCache().evict(Task.class, taskId);
+        return taskRepository.findVersionRowById(taskId)
+                .<RuntimeException>map(row -> userId.equals(row.userId())
+                        ? new TaskConflictException()
+                        : new AccessDeniedException("Access denied"))
+                .orElseGet(TaskNotFoundException::new);
+    }
+
     private void requireOwn(Long ownerId) {
         CustomUserDetails user = getCurrentUser();
         if (!user.getId().equals(ownerId)) {
@@ -0,0 +1,10 @@
+package com.example.taskapi.service.token;
+
+import com.example.taskapi.dto.AuthTokensDto;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface RefreshTokenService {
+    AuthTokensDto issueTokens(UserDetails userDetails);
+    AuthTokensDto refresh(String refreshToken);
+    int purgeExpired();
+}
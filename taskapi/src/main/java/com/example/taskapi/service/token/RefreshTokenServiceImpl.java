@@ -0,0 +1,172 @@
+package com.example.taskapi.service.token;
+
+import com.example.taskapi.dto.AuthTokensDto;
+import com.example.taskapi.entity.RefreshToken;
+import com.example.taskapi.entity.user.AppUser;
+import com.example.taskapi.exception.InvalidRefreshTokenException;
+import com.example.taskapi.repository.RefreshTokenRepository;
+import com.example.taskapi.repository.UserRepository;
+import com.example.taskapi.security.CustomUserDetails;
+import com.example.taskapi.security.JwtService;
+import com.example.taskapi.security.TokenDigests;
+import com.example.taskapi.security.TokenEpochService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens with rotation and reuse detection
+ *
+ * Refreshing costs one indexed lookup and two small writes instead of a
+ * BCrypt verification. Each refresh consumes the presented token and issues
+ * the next one in the same family; a consumed token showing up again means
+ * it leaked, so the whole family is revoked along with every access token
+ * of the user, who has to log in again.
+ */
+@Service
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenEpochService tokenEpochService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.jwt.access-expiration-ms:900000}") // 15 minutes
+    private long accessTokenExpirationMs;
+
+    @Value("${app.jwt.refresh.expiration-ms:1209600000}") // 14 days
+    private long refreshTokenExpirationMs;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                                   JwtService jwtService, TransactionTemplate transactionTemplate,
+                                   TokenEpochService tokenEpochService) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.transactionTemplate = transactionTemplate;
+        this.tokenEpochService = tokenEpochService;
+    }
+
+    /**
+     * Issue an access token and the first refresh token of a new family
+     */
+    @Override
+    public AuthTokensDto issueTokens(UserDetails userDetails) {
+        if (!(userDetails instanceof CustomUserDetails customUserDetails)) {
+            throw new IllegalArgumentException("UserDetails must be instance of CustomUserDetails");
+        }
+
+        String refreshToken = transactionTemplate.execute(status -> store(
+                userRepository.getReferenceById(customUserDetails.getId()),
+                UUID.randomUUID().toString(),
+                customUserDetails.getTokenEpoch()));
+
+        return new AuthTokensDto(jwtService.generateToken(customUserDetails), refreshToken,
+                accessTokenExpirationMs / 1000);
+    }
+
+    /**
+     * SECURITY: Swap a refresh token for a new access/refresh pair
+     *
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, reused or revoked
+     */
+    @Override
+    public AuthTokensDto refresh(String refreshToken) {
+        String tokenHash = TokenDigests.sha256(refreshToken);
+
+        // Rotation runs in its own transaction so a family revocation commits before we reject
+        Rotation rotation = transactionTemplate.execute(status -> rotate(tokenHash));
+        if (rotation == null) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        return new AuthTokensDto(jwtService.generateToken(rotation.userDetails()), rotation.refreshToken(),
+                accessTokenExpirationMs / 1000);
+    }
+
+    /**
+     * Remove tokens that can no longer be used
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.jwt.refresh.cleanup-interval-ms:3600000}")
+    public int purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} expired refresh tokens", deleted);
+        }
+        return deleted != null ? deleted : 0;
+    }
+
+    private Rotation rotate(String tokenHash) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(tokenHash).orElse(null);
+        if (token == null) {
+            log.debug("Unknown refresh token presented");
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getUsedAt() != null || Boolean.TRUE.equals(token.getRevoked())) {
+            log.warn("Refresh token reuse detected, revoking family {}", token.getFamilyId());
+            revokeAll(token);
+            return null;
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            log.debug("Expired refresh token presented");
+            return null;
+        }
+
+        // Conditional update: only one concurrent request can consume the token
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            log.warn("Refresh token consumed concurrently, revoking family {}", token.getFamilyId());
+            revokeAll(token);
+            return null;
+        }
+
+        AppUser user = token.getAppUser();
+        CustomUserDetails userDetails = CustomUserDetails.from(user);
+        if (!userDetails.isEnabled() || userDetails.getTokenEpoch() != token.getTokenEpoch()) {
+            log.info("Refresh rejected for user id {}: account disabled or tokens revoked", userDetails.getId());
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            return null;
+        }
+
+        return new Rotation(userDetails, store(user, token.getFamilyId(), userDetails.getTokenEpoch()));
+    }
+
+    /**
+     * A leaked refresh token means access tokens minted from its family may
+     * have leaked too, so the user's token epoch is bumped with the family
+     */
+    private void revokeAll(RefreshToken token) {
+        refreshTokenRepository.revokeFamily(token.getFamilyId());
+        tokenEpochService.revokeTokens(token.getAppUser().getId());
+    }
+
+    private String store(AppUser user, String familyId, long tokenEpoch) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(refreshTokenExpirationMs));
+        refreshTokenRepository.save(new RefreshToken(TokenDigests.sha256(rawToken), familyId, user, tokenEpoch, expiresAt));
+        return rawToken;
+    }
+
+    private record Rotation(CustomUserDetails userDetails, String refreshToken) {
+    }
+}
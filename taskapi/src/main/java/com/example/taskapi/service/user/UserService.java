@@ -1,13 +1,18 @@
 package com.example.taskapi.service.user;
 
+import com.example.taskapi.dto.AuthTokensDto;
 import com.example.taskapi.dto.UserDto;
 import com.example.taskapi.request.LoginRequest;
+import com.example.taskapi.request.PasswordChangeRequest;
 import com.example.taskapi.request.RegistrationRequest;
 
 public interface UserService {
     UserDto registerUser(RegistrationRequest request);
-    String loginUser(LoginRequest loginRequest);
+    AuthTokensDto loginUser(LoginRequest loginRequest);
+    AuthTokensDto refreshTokens(String refreshToken);
     UserDto getUserByEmail(String email);
+    void changePassword(Long userId, PasswordChangeRequest request);
+    void deactivateUser(Long userId);
 
 
 
@@ -1,15 +1,22 @@
 package com.example.taskapi.service.user;
 
+import com.example.taskapi.dto.AuthTokensDto;
 import com.example.taskapi.dto.UserDto;
 import com.example.taskapi.entity.user.AppUser;
 import com.example.taskapi.exception.*;
 import com.example.taskapi.factory.UserFactory;
 import com.example.taskapi.mapper.UserMapper;
 import com.example.taskapi.repository.UserRepository;
+import com.example.taskapi.service.task.TaskCounterService;
 import com.example.taskapi.request.LoginRequest;
+import com.example.taskapi.request.PasswordChangeRequest;
 import com.example.taskapi.request.RegistrationRequest;
 import com.example.taskapi.security.CustomUserDetails;
 import com.example.taskapi.security.JwtService;
+import com.example.taskapi.security.PasswordHashingService;
+import com.example.taskapi.security.TokenEpochService;
+import com.example.taskapi.security.UserDetailsCache;
+import com.example.taskapi.service.token.RefreshTokenService;
 import com.example.taskapi.validation.UserValidation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,8 +43,13 @@ public class UserServiceImpl implements UserService {
     private final JwtService jwtService;
     private final TransactionTemplate transactionTemplate;
     private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TaskCounterService taskCounterService;
+    private final TokenEpochService tokenEpochService;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, UserFactory userFactory, UserValidation userValidation, JwtService jwtService, TransactionTemplate transactionTemplate, AuthenticationManager authenticationManager) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, UserFactory userFactory, UserValidation userValidation, JwtService jwtService, TransactionTemplate transactionTemplate, AuthenticationManager authenticationManager, PasswordHashingService passwordHashingService, UserDetailsCache userDetailsCache, RefreshTokenService refreshTokenService, TaskCounterService taskCounterService, TokenEpochService tokenEpochService) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.userFactory = userFactory;
@@ -45,6 +57,11 @@ public class UserServiceImpl implements UserService {
         this.jwtService = jwtService;
         this.transactionTemplate = transactionTemplate;
         this.authenticationManager = authenticationManager;
+        this.passwordHashingService = passwordHashingService;
+        this.userDetailsCache = userDetailsCache;
+        this.refreshTokenService = refreshTokenService;
+        this.taskCounterService = taskCounterService;
+        this.tokenEpochService = tokenEpochService;
     }
 
 
@@ -69,13 +86,17 @@ public class UserServiceImpl implements UserService {
             log.info("Creating new user with email: {}", request.email());
             AppUser user = userFactory.createUser(request);
             AppUser finalUser1 = user;
-            user = transactionTemplate.execute(status -> userRepository.save(finalUser1));
+            user = transactionTemplate.execute(status -> {
+                AppUser saved = userRepository.save(finalUser1);
+                taskCounterService.createCounters(saved.getId());
+                return saved;
+            });
             return userMapper.toDto(user);
         }
     }
 
     @Override
-    public String loginUser(LoginRequest loginRequest) {
+    public AuthTokensDto loginUser(LoginRequest loginRequest) {
 
         log.info("Validate LoginRequest {}", loginRequest);
         userValidation.loginRequestValidation(loginRequest);
@@ -95,9 +116,15 @@ public class UserServiceImpl implements UserService {
             // This line is NEVER reached if authentication fails
             if(authentication.isAuthenticated()) {
                 log.info("User Authenticated successfully");
+                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
-                // Generate JWT token
-              return jwtService.generateToken((UserDetails) authentication.getPrincipal());
+                // Re-encode hashes made under an older work factor while we hold the raw password
+                if (userDetails instanceof CustomUserDetails customUserDetails) {
+                    rehashIfNeeded(customUserDetails, loginRequest.password());
+                }
+
+                // Generate access token and start a refresh-token family
+                return refreshTokenService.issueTokens(userDetails);
             } else {
                 log.error("Authentication object exists but not authenticated");
                 throw new BadCredentialsException("Authentication failed");
@@ -108,6 +135,87 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * Refresh never touches the password hash, so it skips BCrypt entirely
+     */
+    @Override
+    public AuthTokensDto refreshTokens(String refreshToken) {
+        return refreshTokenService.refresh(refreshToken);
+    }
+
+    /**
+     * SECURITY: Replace the password and revoke every token issued under the old one
+     *
+     * The new password must pass the registration strength rules. The hash
+     * is swapped conditionally, so a concurrent change makes this one fail
+     * with a conflict instead of silently overwriting it.
+     */
+    @Override
+    public void changePassword(Long userId, PasswordChangeRequest request) {
+        userValidation.passwordChangeRequestValidation(request);
+
+        String currentHash = transactionTemplate.execute(status -> userRepository.findById(userId)
+                .map(user -> user.getAppUserSecurity().getPasswordHash())
+                .orElseThrow(UserNotFoundException::new));
+
+        if (!passwordHashingService.matches(request.currentPassword(), currentHash)) {
+            log.warn("Password change rejected for user id {}: current password does not match", userId);
+            throw new InValidCredientailException();
+        }
+
+        String newHash = passwordHashingService.encode(request.newPassword());
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = userRepository.updatePasswordHash(userId, currentHash, newHash);
+            if (rows > 0) {
+                tokenEpochService.revokeTokens(userId);
+            }
+            return rows;
+        });
+        if (updated == null || updated == 0) {
+            log.warn("Password change rejected for user id {}: password changed concurrently", userId);
+            throw new PasswordChangeConflictException();
+        }
+        log.info("Password changed for user id {}", userId);
+    }
+
+    /**
+     * SECURITY: Disable the account and revoke every token issued to it
+     */
+    @Override
+    public void deactivateUser(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.deactivateById(userId) == 0) {
+                throw new UserNotFoundException();
+            }
+            tokenEpochService.revokeTokens(userId);
+        });
+        log.info("Deactivated user id {}", userId);
+    }
+
+    /**
+     * Best effort: a busy hashing executor or a concurrent password change
+     * just leaves the old hash in place until the next login.
+     */
+    private void rehashIfNeeded(CustomUserDetails userDetails, String rawPassword) {
+        String currentHash = userDetails.getPassword();
+        if (!passwordHashingService.needsRehash(currentHash)) {
+            return;
+        }
+        try {
+            String newHash = passwordHashingService.encode(rawPassword);
+            Integer updated = transactionTemplate.execute(status -> {
+                int rows = userRepository.updatePasswordHash(userDetails.getId(), currentHash, newHash);
+                // Bulk update bypasses the entity listener
+                userDetailsCache.evictOnCommit(userDetails.getId(), userDetails.getUsername());
+                return rows;
+            });
+            log.info("Password hash upgraded for user id {}: {}", userDetails.getId(),
+                    updated != null && updated > 0);
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Skipping password rehash, hashing executor is busy");
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserDto getUserByEmail(String email) {
@@ -3,6 +3,7 @@ package com.example.taskapi.validation;
 import com.example.taskapi.exception.InvalidInputException;
 import com.example.taskapi.exception.WeakPasswordException;
 import com.example.taskapi.request.LoginRequest;
+import com.example.taskapi.request.PasswordChangeRequest;
 import com.example.taskapi.request.RegistrationRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -131,6 +132,30 @@ public class UserValidationImpl implements UserValidation {
         log.debug("Login request validation passed");
     }
 
+    @Override
+    public void passwordChangeRequestValidation(PasswordChangeRequest request) {
+
+        log.debug("Validating password change request");
+
+        // NULL VALIDATION
+        Objects.requireNonNull(request, "Password change request cannot be null");
+        Objects.requireNonNull(request.currentPassword(), "Current password is required");
+        Objects.requireNonNull(request.newPassword(), "New password is required");
+
+        // EMPTY AND LENGTH CHECK (current password is verified against the hash)
+        if (request.currentPassword().isEmpty()) {
+            throw new InvalidInputException("Current password cannot be empty");
+        }
+        if (request.currentPassword().length() > 128) {
+            throw new InvalidInputException("Password is too long");
+        }
+
+        // PASSWORD VALIDATION (same rules as registration)
+        validatePasswordStrength(request.newPassword());
+
+        log.debug("Password change request validation passed");
+    }
+
     /**
      *  EMAIL VALIDATION
      */
@@ -0,0 +1,72 @@
+package com.example.taskapi;
+
+import com.example.taskapi.exception.RateLimitExceededException;
+import com.example.taskapi.security.AuthRateLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRateLimiterTest {
+
+    private static final int PER_MINUTE = 5;
+    private static final int REQUESTS = 64;
+    private static final int THREADS = 16;
+
+    @Test
+    @DisplayName("A parallel burst of first requests for one key shares a single bucket")
+    void concurrentFirstRequestsAreLimited() throws Exception {
+        AuthRateLimiter limiter = new AuthRateLimiter(true, PER_MINUTE, PER_MINUTE, PER_MINUTE, 1_000);
+        AtomicInteger allowed = new AtomicInteger();
+        AtomicInteger limited = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        limiter.checkRegister("203.0.113.7");
+                        allowed.incrementAndGet();
+                    } catch (RateLimitExceededException e) {
+                        limited.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(allowed.get()).isEqualTo(PER_MINUTE);
+        assertThat(limited.get()).isEqualTo(REQUESTS - PER_MINUTE);
+        assertThat(limiter.rejectedCount()).isEqualTo(REQUESTS - PER_MINUTE);
+    }
+
+    @Test
+    @DisplayName("Different keys get their own buckets")
+    void keysAreLimitedIndependently() {
+        AuthRateLimiter limiter = new AuthRateLimiter(true, PER_MINUTE, PER_MINUTE, PER_MINUTE, 1_000);
+        for (int i = 0; i < PER_MINUTE; i++) {
+            limiter.checkRegister("203.0.113.7");
+        }
+
+        limiter.checkRegister("203.0.113.8");
+        assertThat(limiter.rejectedCount()).isZero();
+    }
+}
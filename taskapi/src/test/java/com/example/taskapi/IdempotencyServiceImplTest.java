@@ -0,0 +1,203 @@
+package com.example.taskapi;
+
+import com.example.taskapi.entity.IdempotencyRecord;
+import com.example.taskapi.exception.IdempotencyKeyMismatchException;
+import com.example.taskapi.repository.IdempotencyRecordRepository;
+import com.example.taskapi.response.ApiResponse;
+import com.example.taskapi.security.CustomUserDetails;
+import com.example.taskapi.security.TokenDigests;
+import com.example.taskapi.service.idempotency.IdempotencyServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceImplTest {
+
+    private static final String ENDPOINT = "POST /tasks";
+
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    private IdempotencyServiceImpl idempotencyService;
+    private AtomicInteger actionCalls;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        idempotencyRecordRepository = Mockito.mock(IdempotencyRecordRepository.class);
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, transactionTemplate,
+                new ObjectMapper(), 100, 60_000);
+        actionCalls = new AtomicInteger();
+
+        CustomUserDetails user = CustomUserDetails.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("A new key is claimed, the action runs once and its response is stored")
+    void newKeyClaimsAndRuns() {
+        when(idempotencyRecordRepository.findByKeyHash(anyString())).thenReturn(Optional.empty());
+
+        ResponseEntity<ApiResponse> response = idempotencyService.execute("key-1", ENDPOINT,
+                Map.of("title", "Task"), createdAction());
+
+        assertThat(actionCalls.get()).isEqualTo(1);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getHeaders().containsKey(IdempotencyServiceImpl.REPLAYED_HEADER)).isFalse();
+
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getStatusCode()).isEqualTo(201);
+        assertThat(saved.getValue().getResponseBody()).contains("Task Created Successfully");
+    }
+
+    @Test
+    @DisplayName("Repeating a key with the same body replays the stored response")
+    void repeatedKeyReplays() {
+        when(idempotencyRecordRepository.findByKeyHash(anyString())).thenReturn(Optional.empty());
+        idempotencyService.execute("key-1", ENDPOINT, Map.of("title", "Task"), createdAction());
+
+        ResponseEntity<ApiResponse> replayed = idempotencyService.execute("key-1", ENDPOINT,
+                Map.of("title", "Task"), createdAction());
+
+        assertThat(actionCalls.get()).isEqualTo(1);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getHeaders().getFirst(IdempotencyServiceImpl.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replayed.getBody().getMessage()).isEqualTo("Task Created Successfully");
+    }
+
+    @Test
+    @DisplayName("A stored key is replayed from the table when it is not cached")
+    void storedKeyReplaysFromTable() {
+        IdempotencyRecord stored = storedRecord(requestHashOf(Map.of("title", "Task")),
+                LocalDateTime.now().plusHours(1));
+        when(idempotencyRecordRepository.findByKeyHash(anyString())).thenReturn(Optional.of(stored));
+
+        ResponseEntity<ApiResponse> replayed = idempotencyService.execute("key-1", ENDPOINT,
+                Map.of("title", "Task"), createdAction());
+
+        assertThat(actionCalls.get()).isZero();
+        assertThat(replayed.getHeaders().getFirst(IdempotencyServiceImpl.REPLAYED_HEADER)).isEqualTo("true");
+        verify(idempotencyRecordRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Reusing a key with a different body is rejected")
+    void reusedKeyWithDifferentBodyIsRejected() {
+        when(idempotencyRecordRepository.findByKeyHash(anyString())).thenReturn(Optional.empty());
+        idempotencyService.execute("key-1", ENDPOINT, Map.of("title", "Task"), createdAction());
+
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", ENDPOINT,
+                Map.of("title", "Other task"), createdAction()))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(actionCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An expired key is released and claimed again")
+    void expiredKeyIsClaimedAgain() {
+        IdempotencyRecord expired = storedRecord(requestHashOf(Map.of("title", "Task")),
+                LocalDateTime.now().minusMinutes(1));
+        when(idempotencyRecordRepository.findByKeyHash(anyString())).thenReturn(Optional.of(expired));
+
+        ResponseEntity<ApiResponse> response = idempotencyService.execute("key-1", ENDPOINT,
+                Map.of("title", "Task"), createdAction());
+
+        assertThat(actionCalls.get()).isEqualTo(1);
+        assertThat(response.getHeaders().containsKey(IdempotencyServiceImpl.REPLAYED_HEADER)).isFalse();
+        verify(idempotencyRecordRepository).delete(expired);
+        verify(idempotencyRecordRepository).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Losing the claim to a concurrent request replays the winner's response")
+    void concurrentClaimReplaysWinner() {
+        IdempotencyRecord winner = storedRecord(requestHashOf(Map.of("title", "Task")),
+                LocalDateTime.now().plusHours(1));
+        when(idempotencyRecordRepository.findByKeyHash(anyString()))
+                .thenReturn(Optional.empty(), Optional.of(winner));
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_idempotency_key_hash"));
+
+        ResponseEntity<ApiResponse> replayed = idempotencyService.execute("key-1", ENDPOINT,
+                Map.of("title", "Task"), createdAction());
+
+        assertThat(actionCalls.get()).isZero();
+        assertThat(replayed.getHeaders().getFirst(IdempotencyServiceImpl.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("An integrity violation raised by the action is not treated as a key conflict")
+    void actionIntegrityViolationPropagates() {
+        when(idempotencyRecordRepository.findByKeyHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", ENDPOINT, Map.of("title", "Task"), () -> {
+            throw new DataIntegrityViolationException("fk_task_user");
+        })).isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessage("fk_task_user");
+        verify(idempotencyRecordRepository, times(1)).findByKeyHash(anyString());
+    }
+
+    // ------------------- Helpers -------------------
+
+    private Supplier<ResponseEntity<ApiResponse>> createdAction() {
+        return () -> {
+            actionCalls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse("Task Created Successfully", Map.of("id", 1)));
+        };
+    }
+
+    private static IdempotencyRecord storedRecord(String requestHash, LocalDateTime expiresAt) {
+        IdempotencyRecord record = new IdempotencyRecord("hash", 1L, ENDPOINT, requestHash, expiresAt);
+        record.setStatusCode(201);
+        record.setResponseBody("{\"message\":\"Task Created Successfully\",\"data\":{\"id\":1}}");
+        return record;
+    }
+
+    private static String requestHashOf(Object request) {
+        try {
+            return TokenDigests.sha256(new ObjectMapper().writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.taskapi;
+
+import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.mapper.TaskMapper;
+import com.example.taskapi.mapper.TaskMapperImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the hand-written TaskMapper with the reflective ModelMapper it replaced.
+ * Output equivalence is covered by MapperEquivalenceTest; this only reports timings.
+ *
+ * Run with: mvn test -Dbenchmarks=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class MapperBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    @DisplayName("TaskMapper.toDto vs ModelMapper")
+    void compareTaskToDto() {
+        Task task = Task.builder()
+                .title("Benchmark task")
+                .description("Mapped many times")
+                .status(TaskStatus.OPEN)
+                .build();
+        task.setId(42L);
+        task.setCreatedAt(LocalDateTime.now());
+
+        TaskMapper taskMapper = new TaskMapperImpl();
+        ModelMapper modelMapper = new ModelMapper();
+
+        double handWritten = measure(taskMapper::toDto, task);
+        double reflective = measure(t -> modelMapper.map(t, TaskDto.class), task);
+
+        log.info("Task -> TaskDto: TaskMapperImpl {} ns/op, ModelMapper {} ns/op, speedup {}x",
+                String.format("%.1f", handWritten), String.format("%.1f", reflective),
+                String.format("%.1f", reflective / handWritten));
+    }
+
+    private static double measure(Function<Task, TaskDto> mapper, Task task) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += mapper.apply(task).getId();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += mapper.apply(task).getId();
+        }
+        long elapsed = System.nanoTime() - start;
+        // Keep the results observable so the JIT cannot drop the calls
+        assertThat(sink).isPositive();
+        return (double) elapsed / ITERATIONS;
+    }
+}
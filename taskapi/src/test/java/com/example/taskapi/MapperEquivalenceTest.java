@@ -0,0 +1,64 @@
+package com.example.taskapi;
+
+import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.dto.UserDto;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.entity.user.AppUser;
+import com.example.taskapi.entity.user.AppUserContact;
+import com.example.taskapi.mapper.TaskMapper;
+import com.example.taskapi.mapper.TaskMapperImpl;
+import com.example.taskapi.mapper.UserMapper;
+import com.example.taskapi.mapper.UserMapperImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written mappers must produce the same DTOs as the ModelMapper
+ * configuration they replaced.
+ */
+class MapperEquivalenceTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("TaskMapperImpl.toDto matches ModelMapper")
+    void taskToDtoMatchesModelMapper() {
+        Task task = Task.builder()
+                .title("Mapped task")
+                .description("Compared field by field")
+                .status(TaskStatus.OPEN)
+                .build();
+        task.setId(42L);
+        task.setCreatedAt(LocalDateTime.now());
+
+        TaskMapper taskMapper = new TaskMapperImpl();
+
+        assertThat(taskMapper.toDto(task)).isEqualTo(modelMapper.map(task, TaskDto.class));
+        assertThat(taskMapper.toDto(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("UserMapperImpl.toDto matches ModelMapper")
+    void userToDtoMatchesModelMapper() {
+        AppUserContact contact = new AppUserContact();
+        contact.setEmail("mapped@example.com");
+        contact.setPhoneNumber("+15550100");
+        AppUser user = AppUser.builder()
+                .username("mapped.user")
+                .name("Mapped User")
+                .contact(contact)
+                .build();
+        user.setId(7L);
+
+        UserMapper userMapper = new UserMapperImpl();
+
+        assertThat(userMapper.toDto(user)).isEqualTo(modelMapper.map(user, UserDto.class));
+        assertThat(userMapper.toDto(null)).isNull();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskapi;
+
+import com.example.taskapi.security.RouteTable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteTableTest {
+
+    private final RouteTable routeTable = new RouteTable();
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"/auth/login", "/auth/register", "/auth/refresh", "/h2-console", "/h2-console/login.do",
+            "/error"})
+    void publicRoutesArePermitted(String path) {
+        assertThat(classify(path)).isEqualTo(RouteTable.RouteClass.PUBLIC);
+        assertThat(routeTable.isPermitted(request(path))).isTrue();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"/tasks", "/tasks/1", "/auth/password", "/auth/logout", "/swagger-ui/index.html",
+            "/v3/api-docs", "/v3/api-docs/swagger-config"})
+    void otherRoutesNeedAToken(String path) {
+        assertThat(classify(path)).isEqualTo(RouteTable.RouteClass.PROTECTED);
+        assertThat(routeTable.isPermitted(request(path))).isFalse();
+    }
+
+    private RouteTable.RouteClass classify(String path) {
+        return routeTable.classify(request(path));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.taskapi;
+
+import com.example.taskapi.dto.TaskBatchResultDto;
+import com.example.taskapi.factory.TaskFactoryImpl;
+import com.example.taskapi.mapper.TaskMapperImpl;
+import com.example.taskapi.request.TaskCreateRequest;
+import com.example.taskapi.security.CustomUserDetails;
+import com.example.taskapi.security.UserDetailsCache;
+import com.example.taskapi.security.UserDetailsCacheInvalidator;
+import com.example.taskapi.service.search.TaskSearchService;
+import com.example.taskapi.service.task.TaskCounterService;
+import com.example.taskapi.service.task.TaskService;
+import com.example.taskapi.service.task.TaskServiceImpl;
+import com.example.taskapi.validation.TaskValidationImpl;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures TaskServiceImpl.createTasks, the path behind POST /tasks/batch,
+ * with the application's JPA batching and sequence settings.
+ *
+ * Run with: mvn test -Dbenchmarks=true
+ */
+@Slf4j
+@DataJpaTest(showSql = false, properties = {
+        "DB_URL=jdbc:h2:mem:batchbench",
+        "DB_CLOSE_DELAY=-1",
+        "DB_CLOSE_ON_EXIT=FALSE",
+        "DB_USERNAME=sa",
+        "DB_PASSWORD=",
+        "H2_PATH=/h2-console"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TaskBatchInsertBenchmarkTest.TestConfig.class, TaskServiceImpl.class, TaskFactoryImpl.class,
+        TaskMapperImpl.class, TaskValidationImpl.class, UserDetailsCache.class, UserDetailsCacheInvalidator.class})
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TaskBatchInsertBenchmarkTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int jdbcBatchSize;
+
+    // Counters and the search index are not part of the insert path being measured
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public TaskCounterService taskCounterService() {
+            return Mockito.mock(TaskCounterService.class);
+        }
+        @Bean
+        public TaskSearchService taskSearchService() {
+            return Mockito.mock(TaskSearchService.class);
+        }
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest(name = "{0} rows")
+    @ValueSource(ints = {1_000, 10_000})
+    @DisplayName("Batched insert throughput")
+    void insertBatch(int rows) {
+        long userId = seedUser("batch" + rows);
+        List<TaskCreateRequest> requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            requests.add(TaskCreateRequest.builder()
+                    .title("Imported task " + i)
+                    .description("Batch insert benchmark")
+                    .status("OPEN")
+                    .build());
+        }
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        TaskBatchResultDto result = taskService.createTasks(requests);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        long statements = statistics.getPrepareStatementCount();
+
+        log.info("{} rows: {} ms, {} rows/s, {} prepared statements", rows,
+                String.format("%.1f", millis), String.format("%.0f", rows / (millis / 1_000)), statements);
+
+        assertThat(result.created()).isEqualTo(rows);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE user_id = ?", Long.class, userId))
+                .isEqualTo(rows);
+        // One statement per JDBC batch plus one sequence call per pooled block, not one per row
+        assertThat(statements).isLessThan(rows / jdbcBatchSize * 3L);
+    }
+
+    private long seedUser(String username) {
+        jdbcTemplate.update("INSERT INTO app_users (username, full_name, version, password_hash, is_active, " +
+                        "is_verified, token_epoch, created_at, email) VALUES (?, ?, 0, 'x', true, true, 0, ?, ?)",
+                username, "Batch User", Timestamp.valueOf(LocalDateTime.now()), username + "@example.com");
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM app_users WHERE username = ?", Long.class, username);
+        CustomUserDetails user = CustomUserDetails.builder()
+                .id(userId)
+                .username(username)
+                .email(username + "@example.com")
+                .active(true)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return userId;
+    }
+}
@@ -1,13 +1,26 @@
 package com.example.taskapi;
 import com.example.taskapi.controller.TaskController;
+import com.example.taskapi.dto.CursorPageDto;
+import com.example.taskapi.dto.TaskBatchItemDto;
+import com.example.taskapi.dto.TaskBatchResultDto;
 import com.example.taskapi.dto.TaskDto;
+import com.example.taskapi.dto.TaskStatusUpdateResultDto;
+import com.example.taskapi.dto.TaskSummaryDto;
 import com.example.taskapi.entity.appenum.TaskStatus;
+import com.example.taskapi.exception.IdempotencyKeyMismatchException;
+import com.example.taskapi.exception.TaskConflictException;
 import com.example.taskapi.exception.TaskNotFoundException;
 import com.example.taskapi.request.TaskCreateRequest;
+import com.example.taskapi.request.TaskFilter;
+import com.example.taskapi.request.TaskStatusUpdateRequest;
 import com.example.taskapi.request.TaskUpdateRequest;
+import com.example.taskapi.response.ApiResponse;
 import com.example.taskapi.security.CustomUserDetails;
 import com.example.taskapi.security.CustomUserDetailsService;
 import com.example.taskapi.security.JwtService;
+import com.example.taskapi.security.RouteTable;
+import com.example.taskapi.security.TokenEpochService;
+import com.example.taskapi.service.idempotency.IdempotencyService;
 import com.example.taskapi.service.task.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,11 +39,16 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
@@ -63,6 +81,9 @@ class TaskControllerTest {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     private CustomUserDetails mockUser;
     private TaskDto sampleTaskDto;
     private TaskCreateRequest createRequest;
@@ -75,6 +96,10 @@ class TaskControllerTest {
             return Mockito.mock(TaskService.class);
         }
         @Bean
+        public IdempotencyService idempotencyService() {
+            return Mockito.mock(IdempotencyService.class);
+        }
+        @Bean
         public JwtService jwtService() {
             return Mockito.mock(JwtService.class);
         }
@@ -82,12 +107,20 @@ class TaskControllerTest {
         public CustomUserDetailsService customUserDetailsService() {
             return Mockito.mock(CustomUserDetailsService.class);
         }
+        @Bean
+        public TokenEpochService tokenEpochService() {
+            return Mockito.mock(TokenEpochService.class);
+        }
+        @Bean
+        public RouteTable routeTable() {
+            return new RouteTable();
+        }
     }
 
     @BeforeEach
     void setUp() {
         // Reset the mock before each test
-        Mockito.reset(taskService);
+        Mockito.reset(taskService, idempotencyService);
 
         // Mock user setup
         mockUser = CustomUserDetails.builder()
@@ -205,6 +238,41 @@ class TaskControllerTest {
         verify(taskService, never()).createTask(any());
     }
 
+    @Test
+    @DisplayName("POST /tasks with Idempotency-Key - replayed response, no second task")
+    void testCreateTask_ShouldReplayStoredResponse_WhenIdempotencyKeyIsRepeated() throws Exception {
+        when(idempotencyService.execute(eq("key-1"), eq("POST /tasks"), any(), any()))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED)
+                        .header("Idempotent-Replayed", "true")
+                        .body(new ApiResponse("Task Created Successfully", sampleTaskDto)));
+
+        mockMvc.perform(post("/tasks")
+                        .with(user(mockUser))
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.data.id").value(1));
+
+        verify(taskService, never()).createTask(any());
+    }
+
+    @Test
+    @DisplayName("POST /tasks with a reused Idempotency-Key and another body - 422")
+    void testCreateTask_ShouldReturnUnprocessable_WhenIdempotencyKeyIsReusedForAnotherRequest() throws Exception {
+        when(idempotencyService.execute(eq("key-1"), eq("POST /tasks"), any(), any()))
+                .thenThrow(new IdempotencyKeyMismatchException());
+
+        mockMvc.perform(post("/tasks")
+                        .with(user(mockUser))
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_MISMATCH"));
+    }
+
     @Test
     @DisplayName("PUT /tasks/{id} - success")
     void testCreateTask_ShouldReturnApiResponseAndSuccessMessage_WhenTaskStatusIsExists() throws Exception {
@@ -247,6 +315,57 @@ class TaskControllerTest {
         verify(taskService).updateTask(any(), eq(id));
     }
 
+    @Test
+    @DisplayName("PUT /tasks/{id} with If-Match - conditional on that version")
+    void testUpdateTask_ShouldPassExpectedVersion_WhenIfMatchIsSent() throws Exception {
+        long id = 1L;
+        TaskDto updated = TaskDto.builder()
+                .id(id)
+                .title("Updated Task")
+                .status(TaskStatus.DONE)
+                .version(4L)
+                .build();
+        when(taskService.updateTask(any(), eq(id), eq(3L))).thenReturn(updated);
+
+        mockMvc.perform(put("/tasks/{taskId}", id)
+                        .with(user(mockUser))
+                        .header("If-Match", "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""));
+
+        verify(taskService).updateTask(any(), eq(id), eq(3L));
+        verify(taskService, never()).updateTask(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("PUT /tasks/{id} - stale version is a conflict")
+    void testUpdateTask_ShouldReturnConflict_WhenVersionIsStale() throws Exception {
+        long id = 1L;
+        when(taskService.updateTask(any(), eq(id), eq(2L))).thenThrow(new TaskConflictException());
+
+        mockMvc.perform(put("/tasks/{taskId}", id)
+                        .with(user(mockUser))
+                        .header("If-Match", "\"1-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("TASK_CONFLICT"));
+    }
+
+    @Test
+    @DisplayName("DELETE /tasks/{id} - If-Match of another task is a conflict")
+    void testDeleteTask_ShouldReturnConflict_WhenIfMatchIsForAnotherTask() throws Exception {
+        mockMvc.perform(delete("/tasks/{taskId}", 1L)
+                        .with(user(mockUser))
+                        .header("If-Match", "\"2-5\""))
+                .andExpect(status().isConflict());
+
+        verify(taskService, never()).deleteTask(anyLong());
+        verify(taskService, never()).deleteTask(anyLong(), anyLong());
+    }
+
     @Test
     @DisplayName("GET /tasks - success")
     void testGetAllTasks_ShouldReturnApiResponseAndSuccessMessage_WhenTasksExist() throws Exception {
@@ -290,6 +409,226 @@ class TaskControllerTest {
         verify(taskService).getAllTasksForUser(0,10,"createdAt","desc");
     }
 
+    @Test
+    @DisplayName("GET /tasks/{id} - success")
+    void testGetTask_ShouldReturnTask_WhenTaskExists() throws Exception {
+        when(taskService.getTask(1L)).thenReturn(sampleTaskDto);
+
+        mockMvc.perform(get("/tasks/{taskId}", 1L).with(user(mockUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(1L))
+                .andExpect(jsonPath("$.data.title").value("Test Task"));
+
+        verify(taskService).getTask(1L);
+    }
+
+    @Test
+    @DisplayName("GET /tasks?cursor - keyset page")
+    void testGetAllTasks_ShouldReturnCursorPage_WhenCursorIsGiven() throws Exception {
+        CursorPageDto<TaskDto> cursorPage = new CursorPageDto<>(List.of(sampleTaskDto), 1, "next-cursor", null);
+        when(taskService.getTasksByCursor("", 1, "createdAt", "desc"))
+                .thenReturn(cursorPage);
+
+        mockMvc.perform(get("/tasks")
+                        .with(user(mockUser))
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.data.prevCursor").doesNotExist());
+
+        verify(taskService).getTasksByCursor("", 1, "createdAt", "desc");
+        verify(taskService, never()).getAllTasksForUser(anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("GET /tasks?mode=slice - no total")
+    void testGetAllTasks_ShouldReturnSlice_WhenModeIsSlice() throws Exception {
+        when(taskService.getTaskSliceForUser(0,10,"createdAt","desc"))
+                .thenReturn(new SliceImpl<>(List.of(sampleTaskDto), PageRequest.of(0, 10), true));
+
+        mockMvc.perform(get("/tasks")
+                        .with(user(mockUser))
+                        .param("mode", "slice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.last").value(false))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+
+        verify(taskService).getTaskSliceForUser(0,10,"createdAt","desc");
+        verify(taskService, never()).getAllTasksForUser(anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("GET /tasks?status=...&createdAfter=... - filter reaches the service")
+    void testGetAllTasks_ShouldPassFilter_WhenFilterParamsAreGiven() throws Exception {
+        TaskFilter filter = new TaskFilter(TaskStatus.OPEN, null,
+                LocalDateTime.of(2025, 1, 1, 0, 0), null, null);
+        Page<TaskDto> page = new PageImpl<>(List.of(sampleTaskDto), PageRequest.of(0, 10), 1);
+        when(taskService.getAllTasksForUser(0,10,"createdAt","desc", filter)).thenReturn(page);
+
+        mockMvc.perform(get("/tasks")
+                        .with(user(mockUser))
+                        .param("status", "OPEN")
+                        .param("createdAfter", "2025-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)));
+
+        verify(taskService).getAllTasksForUser(0,10,"createdAt","desc", filter);
+        verify(taskService, never()).getAllTasksForUser(anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("GET /tasks?status=UNKNOWN - 400")
+    void testGetAllTasks_ShouldReturnBadRequest_WhenStatusIsUnknown() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .with(user(mockUser))
+                        .param("status", "UNKNOWN"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_INPUT"));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("GET /tasks/search - ranked matches")
+    void testSearchTasks_ShouldReturnMatches() throws Exception {
+        when(taskService.searchTasks("test", 20)).thenReturn(List.of(sampleTaskDto));
+
+        mockMvc.perform(get("/tasks/search")
+                        .with(user(mockUser))
+                        .param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].id").value(1));
+
+        verify(taskService).searchTasks("test", 20);
+    }
+
+    @Test
+    @DisplayName("GET /tasks/summary - counts per state")
+    void testGetTaskSummary_ShouldReturnCounts() throws Exception {
+        when(taskService.getTaskSummary()).thenReturn(TaskSummaryDto.of(3, 5, 2));
+
+        mockMvc.perform(get("/tasks/summary").with(user(mockUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.open").value(3))
+                .andExpect(jsonPath("$.data.done").value(5))
+                .andExpect(jsonPath("$.data.archived").value(2))
+                .andExpect(jsonPath("$.data.total").value(10));
+
+        verify(taskService).getTaskSummary();
+    }
+
+    @Test
+    @DisplayName("GET /tasks with current ETag - 304 without reading tasks")
+    void testGetAllTasks_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        when(taskService.getTaskListVersion()).thenReturn("1-7");
+
+        mockMvc.perform(get("/tasks")
+                        .with(user(mockUser))
+                        .header("If-None-Match", "\"1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-7\""));
+
+        verify(taskService, never()).getAllTasksForUser(anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/{id} with stale ETag - 200 with new ETag")
+    void testGetTask_ShouldReturnTaskWithEtag_WhenEtagIsStale() throws Exception {
+        sampleTaskDto.setVersion(4L);
+        when(taskService.getTaskVersion(1L)).thenReturn(4L);
+        when(taskService.getTask(1L)).thenReturn(sampleTaskDto);
+
+        mockMvc.perform(get("/tasks/{id}", 1L)
+                        .with(user(mockUser))
+                        .header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""))
+                .andExpect(jsonPath("$.data.version").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/{id} with current ETag - 304")
+    void testGetTask_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        when(taskService.getTaskVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/tasks/{id}", 1L)
+                        .with(user(mockUser))
+                        .header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, never()).getTask(anyLong());
+    }
+
+    @Test
+    @DisplayName("POST /tasks/batch - partial success reports each item")
+    void testCreateTasks_ShouldReturnMultiStatus_WhenSomeItemsAreRejected() throws Exception {
+        TaskBatchResultDto result = new TaskBatchResultDto(1, 1, List.of(
+                TaskBatchItemDto.created(0, sampleTaskDto),
+                TaskBatchItemDto.rejected(1, List.of("Title is required and cannot be empty"))));
+        when(taskService.createTasks(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/tasks/batch")
+                        .with(user(mockUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(createRequest, new TaskCreateRequest()))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.items[0].task.id").value(1))
+                .andExpect(jsonPath("$.data.items[1].created").value(false))
+                .andExpect(jsonPath("$.data.items[1].errors[0]").value("Title is required and cannot be empty"));
+
+        verify(taskService).createTasks(argThat(requests -> requests.size() == 2));
+    }
+
+    @Test
+    @DisplayName("PATCH /tasks/status - returns the changed ids")
+    void testUpdateTaskStatuses_ShouldReturnChangedIds() throws Exception {
+        when(taskService.updateTaskStatuses(any(TaskStatusUpdateRequest.class)))
+                .thenReturn(new TaskStatusUpdateResultDto(TaskStatus.DONE, 2, List.of(1L, 3L), false));
+
+        mockMvc.perform(patch("/tasks/status")
+                        .with(user(mockUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TaskStatusUpdateRequest(TaskStatus.DONE, List.of(1L, 2L, 3L), null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.updated").value(2))
+                .andExpect(jsonPath("$.data.ids[1]").value(3))
+                .andExpect(jsonPath("$.data.truncated").value(false));
+
+        verify(taskService).updateTaskStatuses(argThat(request ->
+                request.status() == TaskStatus.DONE && request.ids().size() == 3 && request.filter() == null));
+    }
+
+    @Test
+    @DisplayName("PATCH /tasks/status - missing status is rejected")
+    void testUpdateTaskStatuses_ShouldReturnBadRequest_WhenStatusIsMissing() throws Exception {
+        mockMvc.perform(patch("/tasks/status")
+                        .with(user(mockUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateTaskStatuses(any());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/count - cacheable total")
+    void testCountTasks_ShouldReturnTotalWithCacheControl() throws Exception {
+        when(taskService.countTasksForUser()).thenReturn(42L);
+
+        mockMvc.perform(get("/tasks/count").with(user(mockUser)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age=30")))
+                .andExpect(jsonPath("$.data").value(42));
+
+        verify(taskService).countTasksForUser();
+    }
+
     @Test
     @DisplayName("DELETE /tasks/{id} - success")
     @WithMockUser("testuser")
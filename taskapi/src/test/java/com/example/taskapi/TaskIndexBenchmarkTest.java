@@ -0,0 +1,153 @@
+package com.example.taskapi;
+
+import com.example.taskapi.security.UserDetailsCache;
+import com.example.taskapi.security.UserDetailsCacheInvalidator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the owner-scoped task queries are served by the composite
+ * indexes declared on Task, on a seeded dataset of realistic size.
+ *
+ * Run with: mvn test -Dbenchmarks=true [-Dbenchmarks.tasks=200000]
+ */
+@Slf4j
+@DataJpaTest
+@Import({UserDetailsCache.class, UserDetailsCacheInvalidator.class})
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TaskIndexBenchmarkTest {
+
+    private static final int USERS = 20;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        int totalTasks = Integer.getInteger("benchmarks.tasks", 200_000);
+        List<Long> userIds = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            jdbcTemplate.update("INSERT INTO app_users (username, full_name, version, password_hash, is_active, " +
+                            "is_verified, token_epoch, created_at, email) VALUES (?, ?, 0, 'x', true, true, 0, ?, ?)",
+                    "bench" + u, "Bench User", Timestamp.valueOf(LocalDateTime.now()), "bench" + u + "@example.com");
+            userIds.add(jdbcTemplate.queryForObject("SELECT id FROM app_users WHERE username = ?", Long.class, "bench" + u));
+        }
+        userId = userIds.get(0);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < totalTasks; i++) {
+            batch.add(new Object[]{
+                    "Task " + i,
+                    "Seeded task",
+                    i % 3 == 0 ? "DONE" : "OPEN",
+                    Timestamp.valueOf(start.plusSeconds(i * 60L)),
+                    Timestamp.valueOf(start.plusSeconds(i * 60L + 3_600)),
+                    userIds.get(i % USERS),
+                    i % 10 == 0
+            });
+            if (batch.size() == BATCH_SIZE || i == totalTasks - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, created_at, updated_at, " +
+                        "user_id, version, is_archived) VALUES (NEXT VALUE FOR task_seq, ?, ?, ?, ?, ?, ?, 0, ?)", batch);
+                batch.clear();
+            }
+        }
+        // Refresh H2's selectivity statistics so the planner sees the real distribution
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("List by owner ordered by creation time uses (user_id, is_archived, created_at, id)")
+    void listByOwnerUsesCreatedIndex() {
+        assertPlanUses("SELECT id, title, description, status FROM tasks WHERE user_id = ? AND is_archived = ? " +
+                "ORDER BY created_at DESC, id DESC LIMIT 20", "IX_TASK_USER_CREATED", userId, false);
+    }
+
+    @Test
+    @DisplayName("Cursor page by title resumes with a seek on (user_id, is_archived, title, id)")
+    void titleCursorUsesTitleIndex() {
+        assertPlanUses("SELECT id, title, description, status FROM tasks WHERE user_id = ? AND is_archived = ? " +
+                "AND (title > ? OR (title = ? AND id > ?)) ORDER BY title ASC, id ASC LIMIT 20",
+                "IX_TASK_USER_TITLE", userId, false, "Task 5000", "Task 5000", 0L);
+    }
+
+    @Test
+    @DisplayName("Cursor page by id resumes with a seek on (user_id, is_archived, id)")
+    void idCursorUsesIdIndex() {
+        assertPlanUses("SELECT id, title, description, status FROM tasks WHERE user_id = ? AND is_archived = ? " +
+                "AND id < ? ORDER BY id DESC LIMIT 20", "IX_TASK_USER_ID", userId, false, Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Filter by owner and status uses (user_id, is_archived, status, created_at)")
+    void filterByStatusUsesStatusIndex() {
+        assertPlanUses("SELECT id, title, description, status FROM tasks WHERE user_id = ? AND is_archived = ? " +
+                "AND status = ? ORDER BY created_at DESC LIMIT 20", "IX_TASK_USER_STATUS_CREATED", userId, false, "DONE");
+    }
+
+    @Test
+    @DisplayName("Archived listing by owner uses (user_id, is_archived, created_at, id)")
+    void archivedListingUsesCreatedIndex() {
+        assertPlanUses("SELECT id, title, description, status FROM tasks WHERE user_id = ? AND is_archived = ? " +
+                "ORDER BY created_at DESC, id DESC LIMIT 20", "IX_TASK_USER_CREATED", userId, true);
+    }
+
+    @Test
+    @DisplayName("Changes since a timestamp by owner use (user_id, is_archived, updated_at)")
+    void updatedSinceUsesUpdatedIndex() {
+        assertPlanUses("SELECT id, title, description, status FROM tasks WHERE user_id = ? AND is_archived = ? " +
+                "AND updated_at >= ? LIMIT 20", "IX_TASK_USER_UPDATED", userId, false,
+                Timestamp.valueOf(LocalDateTime.now().minusDays(7)));
+    }
+
+    @Test
+    @DisplayName("Archive job: deleted candidates use (is_archived, updated_at)")
+    void archivedCandidatesUseArchivedIndex() {
+        // TaskRepository.findArchivedCandidates
+        assertPlanUses("SELECT id, user_id, status, is_archived FROM tasks WHERE is_archived = true " +
+                "AND updated_at < ? LIMIT 500 FOR UPDATE", "IX_TASK_ARCHIVED_UPDATED",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(24)));
+    }
+
+    @Test
+    @DisplayName("Archive job: DONE candidates use (is_archived, status, updated_at)")
+    void doneCandidatesUseCandidatesIndex() {
+        // TaskRepository.findDoneCandidates
+        Timestamp doneBefore = Timestamp.valueOf(LocalDateTime.now().minusDays(90));
+        assertPlanUses("SELECT id, user_id, status, is_archived FROM tasks WHERE is_archived = false " +
+                "AND status = ? AND (updated_at < ? OR (updated_at IS NULL AND created_at < ?)) " +
+                "LIMIT 500 FOR UPDATE", "IX_TASK_ARCHIVE_CANDIDATES", "DONE", doneBefore, doneBefore);
+    }
+
+    private void assertPlanUses(String sql, String indexName, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+        log.info("Plan for: {}\n{}", sql, plan);
+        assertThat(plan).containsIgnoringCase(indexName);
+
+        jdbcTemplate.queryForList(sql, args); // warm up
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            jdbcTemplate.queryForList(sql, args);
+        }
+        double avgMicros = (System.nanoTime() - startNanos) / 1_000.0 / ITERATIONS;
+        log.info("avg {} us over {} runs", String.format("%.1f", avgMicros), ITERATIONS);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.taskapi;
+
+import com.example.taskapi.entity.user.AppUser;
+import com.example.taskapi.entity.user.AppUserContact;
+import com.example.taskapi.entity.user.AppUserSecurity;
+import com.example.taskapi.exception.InValidCredientailException;
+import com.example.taskapi.exception.PasswordChangeConflictException;
+import com.example.taskapi.exception.UserNotFoundException;
+import com.example.taskapi.exception.WeakPasswordException;
+import com.example.taskapi.factory.UserFactory;
+import com.example.taskapi.mapper.UserMapper;
+import com.example.taskapi.repository.UserRepository;
+import com.example.taskapi.request.PasswordChangeRequest;
+import com.example.taskapi.security.JwtService;
+import com.example.taskapi.security.PasswordHashingService;
+import com.example.taskapi.security.TokenEpochService;
+import com.example.taskapi.security.UserDetailsCache;
+import com.example.taskapi.service.task.TaskCounterService;
+import com.example.taskapi.service.token.RefreshTokenService;
+import com.example.taskapi.service.user.UserServiceImpl;
+import com.example.taskapi.validation.UserValidationImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Password change and deactivation, the two paths that end all of a user's sessions
+ */
+class UserServiceImplTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String CURRENT_HASH = "$2a$12$currenthash";
+
+    private UserRepository userRepository;
+    private PasswordHashingService passwordHashingService;
+    private TokenEpochService tokenEpochService;
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = Mockito.mock(UserRepository.class);
+        passwordHashingService = Mockito.mock(PasswordHashingService.class);
+        tokenEpochService = Mockito.mock(TokenEpochService.class);
+
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        userService = new UserServiceImpl(userRepository, Mockito.mock(UserMapper.class),
+                Mockito.mock(UserFactory.class), new UserValidationImpl(), Mockito.mock(JwtService.class),
+                transactionTemplate, Mockito.mock(AuthenticationManager.class), passwordHashingService,
+                Mockito.mock(UserDetailsCache.class), Mockito.mock(RefreshTokenService.class),
+                Mockito.mock(TaskCounterService.class), tokenEpochService);
+
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user()));
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$12$newhash");
+    }
+
+    @Test
+    @DisplayName("Changing the password swaps the hash and revokes all tokens")
+    void changePasswordRevokesTokens() {
+        when(passwordHashingService.matches("current-secret", CURRENT_HASH)).thenReturn(true);
+        when(userRepository.updatePasswordHash(USER_ID, CURRENT_HASH, "$2a$12$newhash")).thenReturn(1);
+
+        userService.changePassword(USER_ID, new PasswordChangeRequest("current-secret", "a-new-secret"));
+
+        verify(userRepository).updatePasswordHash(USER_ID, CURRENT_HASH, "$2a$12$newhash");
+        verify(tokenEpochService).revokeTokens(USER_ID);
+    }
+
+    @Test
+    @DisplayName("A wrong current password is rejected without touching the hash or the tokens")
+    void wrongCurrentPasswordIsRejected() {
+        when(passwordHashingService.matches("wrong-secret", CURRENT_HASH)).thenReturn(false);
+
+        assertThatThrownBy(() -> userService.changePassword(USER_ID,
+                new PasswordChangeRequest("wrong-secret", "a-new-secret")))
+                .isInstanceOf(InValidCredientailException.class);
+
+        verify(userRepository, never()).updatePasswordHash(any(), any(), any());
+        verifyNoInteractions(tokenEpochService);
+    }
+
+    @Test
+    @DisplayName("A new password that registration would reject is rejected before hashing")
+    void weakNewPasswordIsRejected() {
+        assertThatThrownBy(() -> userService.changePassword(USER_ID,
+                new PasswordChangeRequest("current-secret", "short")))
+                .isInstanceOf(WeakPasswordException.class);
+
+        verify(passwordHashingService, never()).matches(any(), any());
+        verify(passwordHashingService, never()).encode(any());
+        verifyNoInteractions(tokenEpochService);
+    }
+
+    @Test
+    @DisplayName("A concurrent password change is reported as a conflict, not as bad credentials")
+    void concurrentChangeIsAConflict() {
+        when(passwordHashingService.matches("current-secret", CURRENT_HASH)).thenReturn(true);
+        when(userRepository.updatePasswordHash(USER_ID, CURRENT_HASH, "$2a$12$newhash")).thenReturn(0);
+
+        assertThatThrownBy(() -> userService.changePassword(USER_ID,
+                new PasswordChangeRequest("current-secret", "a-new-secret")))
+                .isInstanceOf(PasswordChangeConflictException.class);
+
+        verifyNoInteractions(tokenEpochService);
+    }
+
+    @Test
+    @DisplayName("Deactivating the account revokes all tokens")
+    void deactivateRevokesTokens() {
+        when(userRepository.deactivateById(USER_ID)).thenReturn(1);
+
+        userService.deactivateUser(USER_ID);
+
+        verify(tokenEpochService).revokeTokens(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Deactivating an unknown user fails without revoking anything")
+    void deactivateUnknownUserFails() {
+        when(userRepository.deactivateById(USER_ID)).thenReturn(0);
+
+        assertThatThrownBy(() -> userService.deactivateUser(USER_ID))
+                .isInstanceOf(UserNotFoundException.class);
+
+        verifyNoInteractions(tokenEpochService);
+    }
+
+    private static AppUser user() {
+        AppUserSecurity security = new AppUserSecurity();
+        security.setPasswordHash(CURRENT_HASH);
+        AppUserContact contact = new AppUserContact();
+        contact.setEmail("test@example.com");
+        AppUser user = AppUser.builder()
+                .username("testuser")
+                .name("Test User")
+                .security(security)
+                .contact(contact)
+                .build();
+        user.setId(USER_ID);
+        return user;
+    }
+}